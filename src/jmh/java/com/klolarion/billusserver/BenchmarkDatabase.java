@@ -0,0 +1,59 @@
+package com.klolarion.billusserver;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * 벤치마크용 MariaDB (Testcontainers)
+ * 벤치마크마다 필요한 테이블만 직접 생성한다.
+ */
+public class BenchmarkDatabase implements AutoCloseable {
+    private final MariaDBContainer<?> container;
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BenchmarkDatabase() {
+        container = new MariaDBContainer<>(DockerImageName.parse("mariadb:10.11"));
+        container.start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(container.getJdbcUrl());
+        config.setUsername(container.getUsername());
+        config.setPassword(container.getPassword());
+        config.setMaximumPoolSize(8);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * 엔티티 없이 네이티브 쿼리만 실행하는 EntityManagerFactory
+     */
+    public EntityManagerFactory nativeEntityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(BenchmarkDatabase.class.getPackageName() + ".util.pivot");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+        container.stop();
+    }
+}
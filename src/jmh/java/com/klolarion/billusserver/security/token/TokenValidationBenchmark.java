@@ -0,0 +1,115 @@
+package com.klolarion.billusserver.security.token;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 서명 검증 1건 비용
+ * prebuilt: TokenService가 키 로드 시 만들어 둔 SigningKeys 파서 (extractBillusSub / extractAlmagestSub)
+ * perCall: 이전 경로 (요청마다 Base64 키 복원 + JwtParser 생성 후 검증)
+ * billus는 HS256 (Admin/Store/Company), member는 RS256 (Almagest 공개 키)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenValidationBenchmark {
+    private static final String ALMAGEST_ISSUER = "https://almagest.io";
+
+    private String secretKey;
+    private String publicKey;
+    private String billusToken;
+    private String memberToken;
+    private TokenService tokenService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        secretKey = Base64.getEncoder().encodeToString(secret);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        publicKey = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+
+        MemberTokenCache memberTokenCache = new MemberTokenCache(new SimpleMeterRegistry());
+        set(memberTokenCache, "maxSize", 10_000L);
+        set(memberTokenCache, "ttlSeconds", 60L);
+        memberTokenCache.init();
+
+        // extract* 경로는 Redis를 사용하지 않음
+        tokenService = new TokenService(null, memberTokenCache);
+        set(tokenService, "secretKey", secretKey);
+        set(tokenService, "publicKey", publicKey);
+        set(tokenService, "accessExpiration", TimeUnit.HOURS.toMillis(1));
+        set(tokenService, "refreshExpiration", TimeUnit.DAYS.toMillis(1));
+        tokenService.init();
+
+        billusToken = tokenService.generateStoreAccessToken("store-1");
+        memberToken = Jwts.builder()
+                .setIssuer(ALMAGEST_ISSUER)
+                .setSubject("member-1")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        if (!billusPerCall().equals(billusPrebuilt()) || !memberPerCall().equals(memberPrebuilt())) {
+            throw new IllegalStateException("두 검증 경로의 결과가 다릅니다.");
+        }
+    }
+
+    @Benchmark
+    public String billusPrebuilt() {
+        return tokenService.extractBillusSub(billusToken);
+    }
+
+    @Benchmark
+    public String billusPerCall() {
+        Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(billusToken)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String memberPrebuilt() {
+        return tokenService.extractAlmagestSub(memberToken);
+    }
+
+    @Benchmark
+    public String memberPerCall() throws Exception {
+        Key key = KeyFactory.getInstance("RSA")
+                .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey)));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(memberToken)
+                .getBody()
+                .getSubject();
+    }
+
+    private static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
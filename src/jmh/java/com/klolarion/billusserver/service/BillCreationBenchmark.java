@@ -0,0 +1,161 @@
+package com.klolarion.billusserver.service;
+
+import com.klolarion.billusserver.BenchmarkDatabase;
+import com.klolarion.billusserver.domain.entity.SummaryPeriod;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.klolarion.billusserver.util.constants.Formatter.DATE_FORMATTER;
+
+/**
+ * 방문객 0~10명을 동반한 장부 등록 처리량 (QR 인식 1건 = 트랜잭션 1건)
+ * quantity: 현재 BillService.newBill/visitorBill 경로 (직원 장부 1행 + 방문객 장부 1행(식수 = 방문 인원))
+ * rowPerVisitor: 이전 경로 (직원 장부 1행 + 방문객 1명당 1행)
+ * 두 경로 모두 매출 집계(bill_summary) upsert를 포함한다.
+ * Store 엔티티가 store_account 컬럼을 두 번 매핑하고 있어 Hibernate 엔티티 모델을 단독으로 띄울 수 없으므로,
+ * Hibernate가 보내는 것과 같은 INSERT(IDENTITY 키 반환)와 BillSummaryService의 upsert를 JDBC로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BillCreationBenchmark {
+    private static final int PRICE = 8000;
+    private static final String BILL_INSERT_SQL = "INSERT INTO bill (created_date, last_modified_date, amount, bill_date, " +
+            "bill_month, bill_year, company_id, date, member_id, quantity, store_id, unit_price) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SUMMARY_UPSERT_SQL = buildUpsertSql();
+
+    @Param({"0", "1", "3", "5", "10"})
+    private int visitors;
+
+    private BenchmarkDatabase database;
+    private final String storeId = UUID.randomUUID().toString();
+    private final String companyId = UUID.randomUUID().toString();
+    private final String memberId = UUID.randomUUID().toString();
+    private final LocalDate billDate = LocalDate.of(2024, 1, 15);
+    private final String createdDate = "24.01.15 12:00:00";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new BenchmarkDatabase();
+        database.getJdbcTemplate().execute("CREATE TABLE bill (" +
+                "bill_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "created_date VARCHAR(20), " +
+                "last_modified_date VARCHAR(20), " +
+                "store_id VARCHAR(36) NOT NULL, " +
+                "company_id VARCHAR(36) NOT NULL, " +
+                "member_id VARCHAR(36), " +
+                "date VARCHAR(8) NOT NULL, " +
+                "bill_date DATE, " +
+                "bill_year INT, " +
+                "bill_month INT, " +
+                "quantity INT NOT NULL DEFAULT 1, " +
+                "unit_price INT, " +
+                "amount BIGINT, " +
+                "INDEX idx_bill_store_sales (store_id, bill_date, quantity, amount), " +
+                "INDEX idx_bill_company_date (company_id, bill_date), " +
+                "INDEX idx_bill_member_date (member_id, bill_date))");
+        database.getJdbcTemplate().execute("CREATE TABLE bill_summary (" +
+                "bill_summary_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "period_type VARCHAR(5) NOT NULL, " +
+                "period VARCHAR(8) NOT NULL, " +
+                "store_id VARCHAR(36) NOT NULL, " +
+                "company_id VARCHAR(36) NOT NULL, " +
+                "member_id VARCHAR(36), " +
+                "member_key VARCHAR(36) NOT NULL, " +
+                "bill_count BIGINT NOT NULL, " +
+                "total_price BIGINT NOT NULL, " +
+                "UNIQUE KEY uk_bill_summary (period_type, period, store_id, company_id, member_key))");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public void quantity() throws SQLException {
+        try (Connection connection = database.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            insertBill(connection, memberId, 1);
+            upsertSummary(connection, memberId, 1);
+            if (visitors > 0) {
+                insertBill(connection, null, visitors);
+                upsertSummary(connection, null, visitors);
+            }
+            connection.commit();
+        }
+    }
+
+    @Benchmark
+    public void rowPerVisitor() throws SQLException {
+        try (Connection connection = database.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            insertBill(connection, memberId, 1);
+            upsertSummary(connection, memberId, 1);
+            for (int i = 0; i < visitors; i++) {
+                insertBill(connection, null, 1);
+            }
+            if (visitors > 0) {
+                upsertSummary(connection, null, visitors);
+            }
+            connection.commit();
+        }
+    }
+
+    private long insertBill(Connection connection, String member, int quantity) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(BILL_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, createdDate);
+            statement.setString(2, createdDate);
+            statement.setLong(3, (long) PRICE * quantity);
+            statement.setDate(4, Date.valueOf(billDate));
+            statement.setInt(5, billDate.getYear() * 100 + billDate.getMonthValue());
+            statement.setInt(6, billDate.getYear());
+            statement.setString(7, companyId);
+            statement.setString(8, billDate.format(DATE_FORMATTER));
+            statement.setString(9, member);
+            statement.setInt(10, quantity);
+            statement.setString(11, storeId);
+            statement.setInt(12, PRICE);
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private void upsertSummary(Connection connection, String member, int count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SUMMARY_UPSERT_SQL)) {
+            int index = 1;
+            for (SummaryPeriod period : SummaryPeriod.values()) {
+                statement.setString(index++, period.keyOf(billDate));
+                statement.setString(index++, storeId);
+                statement.setString(index++, companyId);
+                statement.setString(index++, member);
+                statement.setString(index++, member == null ? "" : member);
+                statement.setLong(index++, count);
+                statement.setLong(index++, (long) PRICE * count);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * BillSummaryService의 일/월/연 upsert와 같은 형태 (위치 파라미터)
+     */
+    private static String buildUpsertSql() {
+        StringJoiner values = new StringJoiner(", ");
+        for (SummaryPeriod period : SummaryPeriod.values()) {
+            values.add("('" + period.name() + "', ?, ?, ?, ?, ?, ?, ?)");
+        }
+        return "INSERT INTO bill_summary (period_type, period, store_id, company_id, member_id, member_key, bill_count, total_price) " +
+                "VALUES " + values + " ON DUPLICATE KEY UPDATE " +
+                "bill_count = bill_count + VALUES(bill_count), total_price = total_price + VALUES(total_price)";
+    }
+}
@@ -0,0 +1,59 @@
+package com.klolarion.billusserver.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh Token 검증 문자열(32바이트)과 OTP 코드 생성 1건 비용
+ * shared: 현재 경로 (GenerateCodeUtil -> RandomSource.current(), 미리 시드한 DRBG stripe)
+ * strong: 이전 경로 (호출마다 SecureRandom.getInstanceStrong() 생성)
+ * SampleTime으로 평균과 함께 p99 등 꼬리 지연(엔트로피 대기)을 확인한다. Contended는 8개 스레드 동시 호출.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomSourceBenchmark {
+    private static final int TOKEN_LENGTH = 32;
+
+    @Benchmark
+    @Threads(1)
+    public String tokenShared() {
+        return GenerateCodeUtil.generateTokenVerifyString();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String tokenStrong() throws NoSuchAlgorithmException {
+        byte[] randomBytes = new byte[TOKEN_LENGTH];
+        SecureRandom.getInstanceStrong().nextBytes(randomBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String tokenSharedContended() {
+        return GenerateCodeUtil.generateTokenVerifyString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String tokenStrongContended() throws NoSuchAlgorithmException {
+        return tokenStrong();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String otpShared() {
+        return GenerateCodeUtil.generateOtpCode();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String otpStrong() throws NoSuchAlgorithmException {
+        return String.valueOf(SecureRandom.getInstanceStrong().nextInt(9000) + 1000);
+    }
+}
@@ -0,0 +1,151 @@
+package com.klolarion.billusserver.util.pivot;
+
+import com.klolarion.billusserver.BenchmarkDatabase;
+import com.klolarion.billusserver.util.BillDateRange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 월간 일별 피벗: DB CASE 피벗(SqlDailyPivotQuery) vs 애플리케이션 집계(InMemoryDailyPivotQuery)
+ * 같은 데이터와 같은 조건(DailyPivotShape)으로 두 구현을 실행한다.
+ * 데이터: 회사 1곳, 매장 20곳, 직원 members명이 한 달 동안 근무일마다 임의 매장에서 1건 (10%는 방문객 동반)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DailyPivotQueryBenchmark {
+    private static final int STORES = 20;
+    private static final int PRICE = 8000;
+    private static final String MONTH = "202401";
+
+    @Param({"100", "1000"})
+    private int members;
+
+    @Param({"MEMBER_BY_STORE_AND_COMPANY", "STORE_BY_COMPANY"})
+    private DailyPivotShape shape;
+
+    private BenchmarkDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager em;
+    private DailyPivotQuery sqlQuery;
+    private DailyPivotQuery memoryQuery;
+    private BillDateRange range;
+    private UUID storeId;
+    private UUID companyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new BenchmarkDatabase();
+        createTables();
+        insertBills();
+
+        entityManagerFactory = database.nativeEntityManagerFactory();
+        em = entityManagerFactory.createEntityManager();
+        sqlQuery = new SqlDailyPivotQuery(em);
+        memoryQuery = new InMemoryDailyPivotQuery(em);
+        range = BillDateRange.ofMonth(MONTH);
+        assertSameRows(sqlQuery.fetch(shape, range, storeId, companyId), memoryQuery.fetch(shape, range, storeId, companyId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        entityManagerFactory.close();
+        database.close();
+    }
+
+    @Benchmark
+    public List<DailyPivotRow> sql() {
+        return sqlQuery.fetch(shape, range, storeId, companyId);
+    }
+
+    @Benchmark
+    public List<DailyPivotRow> memory() {
+        return memoryQuery.fetch(shape, range, storeId, companyId);
+    }
+
+    private void createTables() {
+        database.getJdbcTemplate().execute("CREATE TABLE company (company_id VARCHAR(36) PRIMARY KEY, company_name VARCHAR(30) NOT NULL)");
+        database.getJdbcTemplate().execute("CREATE TABLE store (store_id VARCHAR(36) PRIMARY KEY, store_name VARCHAR(30) NOT NULL)");
+        database.getJdbcTemplate().execute("CREATE TABLE member (member_id VARCHAR(36) PRIMARY KEY, member_name VARCHAR(30) NOT NULL)");
+        database.getJdbcTemplate().execute("CREATE TABLE bill (" +
+                "bill_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "store_id VARCHAR(36) NOT NULL, " +
+                "company_id VARCHAR(36) NOT NULL, " +
+                "member_id VARCHAR(36), " +
+                "bill_date DATE, " +
+                "quantity INT NOT NULL DEFAULT 1, " +
+                "amount BIGINT, " +
+                "INDEX idx_bill_store_sales (store_id, bill_date, quantity, amount), " +
+                "INDEX idx_bill_company_date (company_id, bill_date))");
+    }
+
+    private void insertBills() {
+        Random random = new Random(42);
+        companyId = UUID.randomUUID();
+        database.getJdbcTemplate().update("INSERT INTO company VALUES (?, ?)", companyId.toString(), "빌러스");
+
+        List<String> storeIds = new ArrayList<>();
+        for (int i = 0; i < STORES; i++) {
+            String id = UUID.randomUUID().toString();
+            storeIds.add(id);
+            database.getJdbcTemplate().update("INSERT INTO store VALUES (?, ?)", id, "매장" + i);
+        }
+        storeId = UUID.fromString(storeIds.get(0));
+
+        List<Object[]> memberRows = new ArrayList<>();
+        List<Object[]> billRows = new ArrayList<>();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < members; i++) {
+            String memberId = UUID.randomUUID().toString();
+            memberRows.add(new Object[]{memberId, "직원" + i});
+            for (LocalDate day = start; day.getMonthValue() == 1; day = day.plusDays(1)) {
+                if (day.getDayOfWeek().getValue() > 5) {
+                    continue;
+                }
+                String store = storeIds.get(random.nextInt(STORES));
+                Date billDate = Date.valueOf(day);
+                billRows.add(new Object[]{store, companyId.toString(), memberId, billDate, 1, (long) PRICE});
+                if (random.nextInt(10) == 0) {
+                    int visitors = 1 + random.nextInt(10);
+                    billRows.add(new Object[]{store, companyId.toString(), null, billDate, visitors, (long) PRICE * visitors});
+                }
+            }
+        }
+        database.getJdbcTemplate().batchUpdate("INSERT INTO member VALUES (?, ?)", memberRows);
+        database.getJdbcTemplate().batchUpdate("INSERT INTO bill (store_id, company_id, member_id, bill_date, quantity, amount) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", billRows);
+        database.getJdbcTemplate().execute("ANALYZE TABLE bill");
+    }
+
+    /**
+     * 두 구현이 같은 결과를 내는지 확인 (다르면 비교 의미가 없으므로 실행 중단)
+     */
+    private void assertSameRows(List<DailyPivotRow> expected, List<DailyPivotRow> actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("row count " + expected.size() + " != " + actual.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            DailyPivotRow left = expected.get(i);
+            DailyPivotRow right = actual.get(i);
+            if (!left.getKey().equals(right.getKey()) || left.getTotal() != right.getTotal()
+                    || left.getTotalAmount() != right.getTotalAmount()) {
+                throw new IllegalStateException("row " + i + " differs: " + left.getKey() + " / " + right.getKey());
+            }
+            for (int day = 1; day <= DailyPivotRow.DAYS; day++) {
+                if (left.countOf(day) != right.countOf(day) || left.amountOf(day) != right.amountOf(day)) {
+                    throw new IllegalStateException("row " + left.getKey() + " day " + day + " differs");
+                }
+            }
+        }
+    }
+}
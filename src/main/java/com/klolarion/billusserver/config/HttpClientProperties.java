@@ -0,0 +1,37 @@
+package com.klolarion.billusserver.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 외부 API 목적지별 HTTP 클라이언트 설정 (billus.http.destinations.{이름})
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "billus.http")
+public class HttpClientProperties {
+
+    private Map<String, Destination> destinations = new LinkedHashMap<>();
+
+    public Destination destination(String name) {
+        Destination destination = destinations.get(name);
+        if (destination == null) {
+            throw new IllegalStateException("billus.http.destinations." + name + " 설정이 없습니다.");
+        }
+        return destination;
+    }
+
+    @Getter
+    @Setter
+    public static class Destination {
+        private long connectTimeoutMs = 1000;    // 연결 타임아웃
+        private long poolWaitTimeoutMs = 1000;   // 커넥션 풀 대기 타임아웃
+        private long readTimeoutMs = 3000;       // 응답 타임아웃
+        private int maxConnections = 20;         // 커넥션 풀 크기
+        private long keepAliveMs = 30000;        // 커넥션 재사용 유지 시간 (초과한 유휴 커넥션은 정리)
+    }
+}
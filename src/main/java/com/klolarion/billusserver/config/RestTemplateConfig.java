@@ -0,0 +1,91 @@
+package com.klolarion.billusserver.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 외부 API 호출용 RestTemplate (목적지별)
+ * 목적지마다 커넥션 풀(HttpClient 5), 연결/풀 대기/응답 타임아웃, Keep-Alive를 billus.http.destinations에서 설정합니다.
+ * RestTemplateBuilder로 만들어 http.client.requests 타이머가 기록되고,
+ * 커넥션 풀 상태는 billus.http.pool.* 게이지(destination 태그)로 노출됩니다.
+ * almagestRestTemplate: Almagest 인증 서버 (토큰 갱신), dataOrgRestTemplate: 국세청 사업자 상태 조회
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class RestTemplateConfig {
+    private final HttpClientProperties properties;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    public RestTemplate almagestRestTemplate() {
+        return build("almagest");
+    }
+
+    @Bean
+    public RestTemplate dataOrgRestTemplate() {
+        return build("data-org");
+    }
+
+    private RestTemplate build(String name) {
+        HttpClientProperties.Destination destination = properties.destination(name);
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(destination.getMaxConnections())
+                .setMaxConnPerRoute(destination.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(destination.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(destination.getReadTimeoutMs()))
+                        .build())
+                .build();
+        registerPoolMetrics(name, connectionManager);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(destination.getPoolWaitTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(destination.getReadTimeoutMs()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(destination.getKeepAliveMs()))
+                .evictIdleConnections(TimeValue.ofMilliseconds(destination.getKeepAliveMs()))
+                .evictExpiredConnections()
+                .build();
+
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    private void registerPoolMetrics(String name, PoolingHttpClientConnectionManager connectionManager) {
+        gauge("billus.http.pool.leased", "사용 중인 커넥션 수", name, connectionManager, PoolStats::getLeased);
+        gauge("billus.http.pool.available", "유휴 커넥션 수", name, connectionManager, PoolStats::getAvailable);
+        gauge("billus.http.pool.pending", "커넥션 대기 요청 수", name, connectionManager, PoolStats::getPending);
+        gauge("billus.http.pool.max", "최대 커넥션 수", name, connectionManager, PoolStats::getMax);
+    }
+
+    private void gauge(String meter, String description, String name,
+                       PoolingHttpClientConnectionManager connectionManager, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder(meter, connectionManager, cm -> value.applyAsDouble(cm.getTotalStats()))
+                .description(description)
+                .tag("destination", name)
+                .register(meterRegistry);
+    }
+}
@@ -3,11 +3,17 @@ package com.klolarion.billusserver.controller;
 import com.klolarion.billusserver.dto.InfoRequestDto;
 import com.klolarion.billusserver.service.ApplyService;
 import com.klolarion.billusserver.service.AuthService;
+import com.klolarion.billusserver.service.BillSummaryService;
+import com.klolarion.billusserver.service.StoreService;
+import com.klolarion.billusserver.util.QRService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.UUID;
+
 
 @RestController
 @RequiredArgsConstructor
@@ -15,6 +21,9 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
     private final AuthService authService;
     private final ApplyService applyService;
+    private final BillSummaryService billSummaryService;
+    private final StoreService storeService;
+    private final QRService qrService;
 
     /**
      * Admin 계정 확인
@@ -53,4 +62,33 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.OK).body("Company disabled");
     }
 
+    /**
+     * 매출 집계 재생성 (연도 미지정 시 전체 백필)
+     * */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<?> rebuildSummary(@RequestParam(required = false) String year) {
+            if (year == null || year.isBlank()) {
+                return ResponseEntity.status(HttpStatus.OK).body(billSummaryService.rebuildAll());
+            }
+            billSummaryService.rebuildYear(year);
+            return ResponseEntity.status(HttpStatus.OK).body("Summary rebuilt");
+    }
+
+    /**
+     * 매출 집계 정합성 확인 (불일치 매장 ID 목록 반환)
+     * */
+    @GetMapping("/summary/check")
+    public ResponseEntity<?> checkSummary(@RequestParam String month) {
+            return ResponseEntity.status(HttpStatus.OK).body(billSummaryService.verifyMonth(month));
+    }
+
+    /**
+     * 매장 QR 인쇄용 시트 생성 (여러 매장 QR을 한 장의 SVG로)
+     * */
+    @PostMapping("/qr/sheet")
+    public ResponseEntity<byte[]> qrPrintSheet(@RequestBody List<UUID> storeIds,
+                                               @RequestParam(defaultValue = "300") int size) {
+            return qrService.publishPrintSheet(storeService.findStores(storeIds), size);
+    }
+
 }
@@ -1,18 +1,28 @@
 package com.klolarion.billusserver.controller.v1;
 
 import com.klolarion.billusserver.dto.bill.BillResponseDto;
+import com.klolarion.billusserver.dto.export.ExportJobRequestDto;
 import com.klolarion.billusserver.dto.member.MemberResponseDto;
+import com.klolarion.billusserver.dto.store.StoreSnapshot;
 import com.klolarion.billusserver.security.CustomCompanyDetails;
 import com.klolarion.billusserver.service.BillService;
 import com.klolarion.billusserver.service.CompanyService;
 import com.klolarion.billusserver.service.ExcelExportService;
+import com.klolarion.billusserver.service.ExportJobService;
+import com.klolarion.billusserver.util.CommonResponseHelper;
+import com.klolarion.billusserver.util.pivot.DailyPivotRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +32,7 @@ import java.util.List;
 public class ExportCompanyControllerV1 {
 
     private final ExcelExportService excelExportService;
+    private final ExportJobService exportJobService;
     private final BillService billService;
     private final CompanyService companyService;
 
@@ -31,7 +42,7 @@ public class ExportCompanyControllerV1 {
      * @return 직원 목록 엑셀 파일
      */
     @GetMapping("/company/employee/list/excel")
-    public ResponseEntity<byte[]> exportEmployeeListExcel(@AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
+    public ResponseEntity<StreamingResponseBody> exportEmployeeListExcel(@AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
         List<MemberResponseDto> empList = companyService.findMyEmp(customCompanyDetails.getCompany());
         return excelExportService.companyEmployeeList(empList);
     }
@@ -43,7 +54,7 @@ public class ExportCompanyControllerV1 {
      * @return 직원별 월 매출 합계 엑셀 파일
      */
     @GetMapping("/company/month/employee/total/excel")
-    public ResponseEntity<byte[]> companyMonthMemberTotal(@RequestParam String month, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
+    public ResponseEntity<StreamingResponseBody> companyMonthMemberTotal(@RequestParam String month, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
         List<BillResponseDto> list = billService.monthlyEmployeeBillTotal(month, customCompanyDetails.getCompany());
         return excelExportService.companyMonthlyEmpTotalBillExcel(list);
     }
@@ -56,7 +67,7 @@ public class ExportCompanyControllerV1 {
      * @return 직원별 월 상세 매출 엑셀 파일
      */
     @GetMapping("/company/month/employee/detail/excel")
-    public ResponseEntity<byte[]> companyMonthMemberDetail(@RequestParam String month, String id, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
+    public ResponseEntity<StreamingResponseBody> companyMonthMemberDetail(@RequestParam String month, String id, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
         List<BillResponseDto> list = billService.monthlyEmployeeBillList(month, id, customCompanyDetails.getCompany());
         return excelExportService.companyMonthlyEmpDetailBillExcel(list);
     }
@@ -68,7 +79,7 @@ public class ExportCompanyControllerV1 {
      * @return 매장별 월 매출 합계 엑셀 파일
      */
     @GetMapping("/company/month/store/total/excel")
-    public ResponseEntity<byte[]> companyMonthStoreTotal(@RequestParam String month, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
+    public ResponseEntity<StreamingResponseBody> companyMonthStoreTotal(@RequestParam String month, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
         List<BillResponseDto> list = billService.monthlyStoreBillTotalList(month, customCompanyDetails.getCompany());
         return excelExportService.companyMonthlyStoreTotalExcel(list);
     }
@@ -81,7 +92,7 @@ public class ExportCompanyControllerV1 {
      * @return 매장별 월 상세 매출 엑셀 파일
      */
     @GetMapping("/company/month/store/detail/excel")
-    public ResponseEntity<byte[]> companyMonthStoreDetail(@RequestParam String month, String storeId, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
+    public ResponseEntity<StreamingResponseBody> companyMonthStoreDetail(@RequestParam String month, String storeId, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
         List<BillResponseDto> list = billService.monthlyStoreBillDetailList(month, storeId, customCompanyDetails.getCompany());
         return excelExportService.companyMonthlyStoreDetailBillExcel(list);
     }
@@ -94,9 +105,10 @@ public class ExportCompanyControllerV1 {
      * @return 회사 월 상세 매출 엑셀 파일
      */
     @GetMapping("/company/month/detail/excel")
-    public ResponseEntity<byte[]> companyMonthDetail(@RequestParam String month, String storeId, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
-        List<Object[]> list = billService.monthlyCompanyBillDetail(month, storeId, customCompanyDetails.getCompany());
-        return excelExportService.companyMonthlyDetailBillExcel(list, customCompanyDetails.getCompany().getCompanyName(), storeId, month);
+    public ResponseEntity<StreamingResponseBody> companyMonthDetail(@RequestParam String month, String storeId, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails){
+        StoreSnapshot store = excelExportService.findCompanyStore(storeId, customCompanyDetails.getCompany());
+        List<DailyPivotRow> list = billService.monthlyCompanyBillDetail(month, storeId, customCompanyDetails.getCompany());
+        return excelExportService.companyMonthlyDetailBillExcel(list, customCompanyDetails.getCompany().getCompanyName(), store, month);
     }
 
     /**
@@ -106,7 +118,50 @@ public class ExportCompanyControllerV1 {
      * @return 전체 매장 일별 장부수 피벗 엑셀 파일
      */
     @GetMapping("/company/month/all-store/detail/excel")
-    public ResponseEntity<byte[]> companyMonthAllStoreDetail(@RequestParam String month, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails) {
+    public ResponseEntity<StreamingResponseBody> companyMonthAllStoreDetail(@RequestParam String month, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails) {
         return excelExportService.companyMonthlyAllStoreDetailExcel(month, customCompanyDetails.getCompany().getId().toString());
     }
+
+    /**
+     * 회사 엑셀 비동기 생성 요청 API
+     * 동일 조건의 작업이 진행 중이면 기존 작업을 반환합니다.
+     * @param requestDto 보고서 종류 및 조건
+     * @return 작업 ID 및 상태
+     */
+    @PostMapping("/company/job")
+    public ResponseEntity<?> submitExportJob(@RequestBody ExportJobRequestDto requestDto, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails) {
+        return ResponseEntity.ok(CommonResponseHelper.createResponse(
+            "200",
+            "OK",
+            "SUCCESS",
+            "엑셀 생성 요청 성공",
+            exportJobService.submitCompanyJob(requestDto, customCompanyDetails.getCompany())
+        ));
+    }
+
+    /**
+     * 회사 엑셀 생성 작업 상태 조회 API
+     * @param jobId 작업 ID
+     * @return 작업 상태
+     */
+    @GetMapping("/company/job/{jobId}")
+    public ResponseEntity<?> getExportJob(@PathVariable String jobId, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails) {
+        return ResponseEntity.ok(CommonResponseHelper.createResponse(
+            "200",
+            "OK",
+            "SUCCESS",
+            "엑셀 생성 작업 조회 성공",
+            exportJobService.findJob(jobId, customCompanyDetails.getCompany())
+        ));
+    }
+
+    /**
+     * 회사 생성 완료된 엑셀 파일 다운로드 API
+     * @param jobId 작업 ID
+     * @return 엑셀 파일
+     */
+    @GetMapping("/company/job/{jobId}/file")
+    public ResponseEntity<Resource> downloadExportJob(@PathVariable String jobId, @AuthenticationPrincipal CustomCompanyDetails customCompanyDetails) {
+        return exportJobService.download(jobId, customCompanyDetails.getCompany());
+    }
 }
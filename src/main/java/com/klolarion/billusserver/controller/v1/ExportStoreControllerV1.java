@@ -2,17 +2,28 @@ package com.klolarion.billusserver.controller.v1;
 
 import com.klolarion.billusserver.security.CustomStoreDetails;
 import com.klolarion.billusserver.dto.bill.BillResponseDto;
+import com.klolarion.billusserver.dto.export.ExportJobRequestDto;
 import com.klolarion.billusserver.service.BillService;
 import com.klolarion.billusserver.service.ExcelExportService;
+import com.klolarion.billusserver.service.ExportJobService;
 import com.klolarion.billusserver.service.StoreService;
+import com.klolarion.billusserver.util.CommonResponseHelper;
 import com.klolarion.billusserver.util.QRService;
+import com.klolarion.billusserver.util.pivot.DailyPivotRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,18 +33,25 @@ import java.util.List;
 public class ExportStoreControllerV1 {
 
     private final ExcelExportService excelExportService;
+    private final ExportJobService exportJobService;
     private final QRService qrService;
     private final BillService billService;
     private final StoreService storeService;
 
     /**
      * 매장 QR코드 생성 API
+     * @param format 이미지 형식 (png/svg)
+     * @param size 이미지 한 변의 크기(px)
+     * @param ifNoneMatch 클라이언트가 가진 ETag
      * @param customStoreDetails 인증된 매장 정보
-     * @return QR코드 이미지
+     * @return QR코드 이미지 (변경 없으면 304)
      */
     @GetMapping("/qr")
-    public ResponseEntity<byte[]> createStoreQr(@AuthenticationPrincipal CustomStoreDetails customStoreDetails) {
-        return qrService.publishStoreQr(customStoreDetails.getStore());
+    public ResponseEntity<byte[]> createStoreQr(@RequestParam(defaultValue = QRService.PNG) String format,
+                                                @RequestParam(defaultValue = "300") int size,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                @AuthenticationPrincipal CustomStoreDetails customStoreDetails) {
+        return qrService.publishStoreQr(customStoreDetails.getStore(), size, format, ifNoneMatch);
     }
 
     /**
@@ -42,8 +60,8 @@ public class ExportStoreControllerV1 {
      * @return 월간 장부 엑셀 파일
      */
     @GetMapping("/store/month/detail/excel")
-    public ResponseEntity<byte[]> companyMonthDetail(@RequestParam String month, @AuthenticationPrincipal CustomStoreDetails customStoreDetails){
-        List<Object[]> list = billService.monthlyStoreBillDetail(month, customStoreDetails.getStore());
+    public ResponseEntity<StreamingResponseBody> companyMonthDetail(@RequestParam String month, @AuthenticationPrincipal CustomStoreDetails customStoreDetails){
+        List<DailyPivotRow> list = billService.monthlyStoreBillDetail(month, customStoreDetails.getStore());
         return excelExportService.storeMonthlyDetailBillExcel(list, customStoreDetails.getStore(), month);
     }
 
@@ -53,7 +71,7 @@ public class ExportStoreControllerV1 {
      * @return 일별 장부 엑셀 파일
      */
     @GetMapping("/store/daily/excel")
-    public ResponseEntity<byte[]> exportStoreDailyBillExcel(@RequestParam String date, @AuthenticationPrincipal CustomStoreDetails customStoreDetails){
+    public ResponseEntity<StreamingResponseBody> exportStoreDailyBillExcel(@RequestParam String date, @AuthenticationPrincipal CustomStoreDetails customStoreDetails){
         List<BillResponseDto> billList = billService.dailyCompanyBillTotalList(date, customStoreDetails.getStore());
         return excelExportService.storeDailyBillExcel(billList);
     }
@@ -64,8 +82,51 @@ public class ExportStoreControllerV1 {
      * @return 월별 장부 엑셀 파일
      */
     @GetMapping("/store/monthly/excel")
-    public ResponseEntity<byte[]> exportStoreMonthlyBillExcel(@RequestParam String month, @AuthenticationPrincipal CustomStoreDetails customStoreDetails){
+    public ResponseEntity<StreamingResponseBody> exportStoreMonthlyBillExcel(@RequestParam String month, @AuthenticationPrincipal CustomStoreDetails customStoreDetails){
         List<BillResponseDto> billList = billService.monthlyCompanyBillTotalList(month, customStoreDetails.getStore());
         return excelExportService.storeMonthlyCompanyTotalExcel(billList);
     }
+
+    /**
+     * 매장 엑셀 비동기 생성 요청 API
+     * 동일 조건의 작업이 진행 중이면 기존 작업을 반환합니다.
+     * @param requestDto 보고서 종류 및 조건
+     * @return 작업 ID 및 상태
+     */
+    @PostMapping("/store/job")
+    public ResponseEntity<?> submitExportJob(@RequestBody ExportJobRequestDto requestDto, @AuthenticationPrincipal CustomStoreDetails customStoreDetails) {
+        return ResponseEntity.ok(CommonResponseHelper.createResponse(
+            "200",
+            "OK",
+            "SUCCESS",
+            "엑셀 생성 요청 성공",
+            exportJobService.submitStoreJob(requestDto, customStoreDetails.getStore())
+        ));
+    }
+
+    /**
+     * 매장 엑셀 생성 작업 상태 조회 API
+     * @param jobId 작업 ID
+     * @return 작업 상태
+     */
+    @GetMapping("/store/job/{jobId}")
+    public ResponseEntity<?> getExportJob(@PathVariable String jobId, @AuthenticationPrincipal CustomStoreDetails customStoreDetails) {
+        return ResponseEntity.ok(CommonResponseHelper.createResponse(
+            "200",
+            "OK",
+            "SUCCESS",
+            "엑셀 생성 작업 조회 성공",
+            exportJobService.findJob(jobId, customStoreDetails.getStore())
+        ));
+    }
+
+    /**
+     * 매장 생성 완료된 엑셀 파일 다운로드 API
+     * @param jobId 작업 ID
+     * @return 엑셀 파일
+     */
+    @GetMapping("/store/job/{jobId}/file")
+    public ResponseEntity<Resource> downloadExportJob(@PathVariable String jobId, @AuthenticationPrincipal CustomStoreDetails customStoreDetails) {
+        return exportJobService.download(jobId, customStoreDetails.getStore());
+    }
 }
@@ -1,6 +1,5 @@
 package com.klolarion.billusserver.controller.v1;
 
-import com.klolarion.billusserver.domain.entity.Bill;
 import com.klolarion.billusserver.dto.bill.BillRequestDto;
 import com.klolarion.billusserver.security.CustomUserDetails;
 import com.klolarion.billusserver.dto.*;
@@ -20,7 +19,6 @@ public class MemberControllerV1 {
     private final MemberService memberService;
     private final MenuService menuService;
     private final BillService billService;
-    private final FCMNotificationService fcmNotificationService;
 
 
     /**
@@ -64,9 +62,8 @@ public class MemberControllerV1 {
     @PostMapping("/bill")
     public ResponseEntity<?> newBill(@RequestBody BillRequestDto requestDto,
                                      @AuthenticationPrincipal CustomUserDetails customUserDetails) {
-        Bill bill = billService.newBill(requestDto, customUserDetails.getMember());
-        fcmNotificationService.sendNotificationByToken(bill, requestDto.getExtraCount());
-        
+        billService.newBill(requestDto, customUserDetails.getMember());
+
         return ResponseEntity.ok(CommonResponseHelper.createResponse(
             "200", 
             "OK", 
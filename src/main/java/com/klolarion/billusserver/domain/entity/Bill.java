@@ -8,11 +8,20 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.Comment;
 
+import java.time.LocalDate;
+
+import static com.klolarion.billusserver.util.constants.Formatter.DATE_FORMATTER;
+
 @Entity
 @Getter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_bill_store_sales", columnList = "store_id, bill_date, quantity, amount"),
+        @Index(name = "idx_bill_company_date", columnList = "company_id, bill_date"),
+        @Index(name = "idx_bill_member_date", columnList = "member_id, bill_date")
+})
 public class Bill extends BaseTime {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +48,50 @@ public class Bill extends BaseTime {
     private Member member;
 
     @Column(nullable = false, length = 8, columnDefinition = "VARCHAR(8)")
-    @Comment("장부 등록 일시 (YYYYMMDD 형식)")
+    @Comment("장부 등록 일시 (YYYYMMDD 형식, bill_date 도입 이전 컬럼)")
     private String date;
+
+    // 기존 데이터 백필 전까지 NULL 허용 (BillDateBackfillRunner)
+    @Column(name = "bill_date", columnDefinition = "DATE")
+    @Comment("장부 날짜")
+    private LocalDate billDate;
+
+    @Column(name = "bill_year")
+    @Comment("장부 연도 (YYYY)")
+    private Integer billYear;
+
+    @Column(name = "bill_month")
+    @Comment("장부 연월 (YYYYMM)")
+    private Integer billMonth;
+
+    @Builder.Default
+    @Column(name = "quantity", nullable = false, columnDefinition = "INT DEFAULT 1")
+    @Comment("식수 (직원 장부 1, 방문객 장부는 방문 인원)")
+    private Integer quantity = 1;
+
+    // 기존 데이터 백필 전까지 NULL 허용 (BillQuantityMigrationRunner)
+    @Column(name = "unit_price")
+    @Comment("장부 등록 시점 식대 단가")
+    private Integer unitPrice;
+
+    // 매출 집계가 매장 조인 없이 장부 컬럼만 읽도록 저장 시점에 계산 (BillQuantityMigrationRunner 백필)
+    @Column(name = "amount")
+    @Comment("장부 금액 (단가 x 식수)")
+    private Long amount;
+
+    /**
+     * billDate 기준으로 기존 date 컬럼과 연/월 컬럼을, 단가와 식수로 금액을 채운다.
+     */
+    @PrePersist
+    void deriveColumns() {
+        if (unitPrice != null) {
+            this.amount = (long) unitPrice * quantity;
+        }
+        if (billDate == null) {
+            return;
+        }
+        this.date = billDate.format(DATE_FORMATTER);
+        this.billYear = billDate.getYear();
+        this.billMonth = billDate.getYear() * 100 + billDate.getMonthValue();
+    }
 }
@@ -0,0 +1,73 @@
+package com.klolarion.billusserver.domain.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Comment;
+
+/**
+ * 장부 매출 집계(롤업) 엔티티
+ * 매장/회사/직원 조합별로 일/월/연 단위 장부 건수와 매출 합계를 미리 집계해 둔다.
+ * 장부 등록 트랜잭션에서 함께 갱신되며, 집계 조회 시 bill 테이블을 스캔하지 않는다.
+ * 매출 합계는 장부 등록 시점의 식대 가격 기준으로 누적된다.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "bill_summary", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bill_summary", columnNames = {"period_type", "period", "store_id", "company_id", "member_key"})
+}, indexes = {
+        @Index(name = "idx_bill_summary_company", columnList = "period_type, period, company_id"),
+        @Index(name = "idx_bill_summary_member", columnList = "period_type, period, member_id")
+})
+public class BillSummary {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "bill_summary_id")
+    @Comment("집계 고유 식별자")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 5)
+    @Comment("집계 기간 단위 (DAY/MONTH/YEAR)")
+    private SummaryPeriod periodType;
+
+    @Column(name = "period", nullable = false, length = 8, columnDefinition = "VARCHAR(8)")
+    @Comment("집계 기간 키 (YYYYMMDD/YYYYMM/YYYY)")
+    private String period;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "store_id", nullable = false)
+    @JsonIgnore
+    @Comment("집계 대상 매장")
+    private Store store;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    @JsonIgnore
+    @Comment("집계 대상 회사")
+    private Company company;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id")
+    @JsonIgnore
+    @Comment("집계 대상 직원 (Null이면 방문객)")
+    private Member member;
+
+    @Column(name = "member_key", nullable = false, length = 36, columnDefinition = "VARCHAR(36)")
+    @Comment("집계 키용 직원 ID (방문객은 빈 문자열)")
+    private String memberKey;
+
+    @Column(name = "bill_count", nullable = false)
+    @Comment("장부 건수")
+    private Long billCount;
+
+    @Column(name = "total_price", nullable = false)
+    @Comment("매출 합계")
+    private Long totalPrice;
+}
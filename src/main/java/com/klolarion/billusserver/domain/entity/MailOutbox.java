@@ -0,0 +1,64 @@
+package com.klolarion.billusserver.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 발송 대기열(outbox) 엔티티
+ * 요청 트랜잭션에서 메일을 행으로 저장하고, MailOutboxService.dispatch가 커밋된 행만 모아서 발송한다.
+ * 발송에 성공한 행은 삭제되고, 재시도 한도를 넘긴 행은 본문을 지운 뒤 FAILED로 남는다.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at")
+})
+public class MailOutbox extends BaseTime {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "mail_outbox_id")
+    @Comment("메일 대기열 고유 식별자")
+    private Long id;
+
+    @Column(name = "recipient", nullable = false, length = 100, columnDefinition = "VARCHAR(100)")
+    @Comment("받는 사람 이메일")
+    private String recipient;
+
+    @Column(name = "subject", nullable = false, length = 200, columnDefinition = "VARCHAR(200)")
+    @Comment("메일 제목")
+    private String subject;
+
+    @Column(name = "body", columnDefinition = "TEXT")
+    @Comment("메일 내용 (발송 실패 확정 시 삭제)")
+    private String body;
+
+    @Column(name = "is_html", nullable = false, length = 1, columnDefinition = "VARCHAR(1)")
+    @Comment("HTML 메일 여부 (T/F)")
+    private String isHtml;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    @Comment("발송 상태 (PENDING/FAILED)")
+    private MailOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    @Comment("발송 시도 횟수")
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Comment("다음 발송 시도 시각")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500, columnDefinition = "VARCHAR(500)")
+    @Comment("마지막 발송 오류")
+    private String lastError;
+}
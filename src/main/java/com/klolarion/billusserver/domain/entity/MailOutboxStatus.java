@@ -0,0 +1,18 @@
+package com.klolarion.billusserver.domain.entity;
+
+import lombok.Getter;
+
+/**
+ * 메일 발송 대기열 상태
+ */
+@Getter
+public enum MailOutboxStatus {
+    PENDING("발송 대기"),
+    FAILED("발송 실패");
+
+    private final String description;
+
+    MailOutboxStatus(String description) {
+        this.description = description;
+    }
+}
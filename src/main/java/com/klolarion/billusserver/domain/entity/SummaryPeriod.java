@@ -0,0 +1,34 @@
+package com.klolarion.billusserver.domain.entity;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+import static com.klolarion.billusserver.util.constants.Formatter.DATE_FORMATTER;
+
+/**
+ * 매출 집계 기간 단위
+ */
+@Getter
+public enum SummaryPeriod {
+    DAY("일별", 8),
+    MONTH("월별", 6),
+    YEAR("연별", 4);
+
+    private final String description;
+    private final int keyLength;
+
+    SummaryPeriod(String description, int keyLength) {
+        this.description = description;
+        this.keyLength = keyLength;
+    }
+
+    /**
+     * 장부 날짜에서 기간 키를 추출
+     * @param date 장부 날짜
+     * @return 기간 키 (DAY: YYYYMMDD, MONTH: YYYYMM, YEAR: YYYY)
+     */
+    public String keyOf(LocalDate date) {
+        return date.format(DATE_FORMATTER).substring(0, keyLength);
+    }
+}
@@ -0,0 +1,29 @@
+package com.klolarion.billusserver.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 장부 등록 이벤트
+ * 커밋 이후 별도 스레드에서 처리되므로 엔티티 대신 필요한 값만 복사해 전달한다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class BillCreatedEvent {
+    private final UUID storeId;
+    private final UUID companyId;
+    private final String companyName;
+    private final String memberName;
+    private final LocalDate billDate;
+    private final String createdDate;
+    private final int extraCount;
+    private final int quantity;   // 직원 1 + 방문객 수
+    private final long amount;    // 이번 등록 금액 합계
+    private final List<Long> billIds; // 이번 등록으로 생성된 장부 ID (직원 장부 + 방문객 장부)
+}
@@ -0,0 +1,7 @@
+package com.klolarion.billusserver.domain.repository;
+
+import com.klolarion.billusserver.domain.entity.MailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+}
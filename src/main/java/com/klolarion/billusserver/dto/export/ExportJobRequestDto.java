@@ -0,0 +1,17 @@
+package com.klolarion.billusserver.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobRequestDto {
+    private ExportReportType type;
+    private String month;    // yyyyMM
+    private String date;     // yyyyMMdd
+    private String targetId; // 직원ID 또는 매장ID (상세 보고서)
+}
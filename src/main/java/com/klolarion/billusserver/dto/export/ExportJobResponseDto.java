@@ -0,0 +1,22 @@
+package com.klolarion.billusserver.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponseDto {
+    private String jobId;
+    private ExportReportType type;
+    private ExportJobStatus status;
+    private String fileName;
+    private String message;
+    private LocalDateTime createdDate;
+    private LocalDateTime finishedDate;
+}
@@ -0,0 +1,17 @@
+package com.klolarion.billusserver.dto.export;
+
+import lombok.Getter;
+
+@Getter
+public enum ExportJobStatus {
+    PENDING("대기"),
+    RUNNING("생성중"),
+    DONE("완료"),
+    FAILED("실패");
+
+    private final String description;
+
+    ExportJobStatus(String description) {
+        this.description = description;
+    }
+}
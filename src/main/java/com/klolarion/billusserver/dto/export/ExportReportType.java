@@ -0,0 +1,36 @@
+package com.klolarion.billusserver.dto.export;
+
+import lombok.Getter;
+
+/**
+ * 비동기 엑셀 내보내기 보고서 종류
+ */
+@Getter
+public enum ExportReportType {
+    COMPANY_EMPLOYEE_LIST(Owner.COMPANY, "직원 목록", false, false, false),
+    COMPANY_MONTH_EMPLOYEE_TOTAL(Owner.COMPANY, "월간 직원별 합계", true, false, false),
+    COMPANY_MONTH_EMPLOYEE_DETAIL(Owner.COMPANY, "월간 직원 상세", true, false, true),
+    COMPANY_MONTH_STORE_TOTAL(Owner.COMPANY, "월간 매장별 합계", true, false, false),
+    COMPANY_MONTH_STORE_DETAIL(Owner.COMPANY, "월간 매장 상세", true, false, true),
+    COMPANY_MONTH_DETAIL(Owner.COMPANY, "월간 매장 일별 상세", true, false, true),
+    COMPANY_MONTH_ALL_STORE_DETAIL(Owner.COMPANY, "월간 전체 매장 일별 상세", true, false, false),
+    STORE_DAILY_TOTAL(Owner.STORE, "일일 회사별 합계", false, true, false),
+    STORE_MONTH_COMPANY_TOTAL(Owner.STORE, "월간 회사별 합계", true, false, false),
+    STORE_MONTH_DETAIL(Owner.STORE, "월간 회사 일별 상세", true, false, false);
+
+    public enum Owner { COMPANY, STORE }
+
+    private final Owner owner;
+    private final String description;
+    private final boolean monthRequired;
+    private final boolean dateRequired;
+    private final boolean targetRequired;
+
+    ExportReportType(Owner owner, String description, boolean monthRequired, boolean dateRequired, boolean targetRequired) {
+        this.owner = owner;
+        this.description = description;
+        this.monthRequired = monthRequired;
+        this.dateRequired = dateRequired;
+        this.targetRequired = targetRequired;
+    }
+}
@@ -0,0 +1,22 @@
+package com.klolarion.billusserver.dto.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 매장 일별 식수/매출 누계
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreDayTotalDto {
+    private long count;
+    private long total;
+
+    public static StoreDayTotalDto empty() {
+        return new StoreDayTotalDto(0, 0);
+    }
+}
@@ -0,0 +1,20 @@
+package com.klolarion.billusserver.dto.store;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 매장 조회용 스냅샷 (StoreSnapshotCache)
+ * QR 인식 → 가격 조회 → 장부 등록 → FCM 알림 경로에서 필요한 값만 담은 불변 객체
+ */
+@Getter
+@AllArgsConstructor
+public class StoreSnapshot {
+    private final UUID id;
+    private final String storeName;
+    private final Integer price;
+    private final String isEnabled;
+    private final String firebaseToken;
+}
@@ -0,0 +1,91 @@
+package com.klolarion.billusserver.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 인증 사용자 정보(AuthUserDetails) 캐시
+ * AuthFilter가 요청마다 DB에서 사용자/매장/회사를 읽지 않도록 역할+토큰 subject 단위로 보관합니다.
+ * 크기(billus.auth.principal-cache.max-size)와 TTL(ttl-seconds)로 만료되며,
+ * 계정 상태가 바뀌는 서비스(탈퇴, 비활성화, 비밀번호 변경, 회사 등록 승인/취소 등)에서 evict를 호출해야 합니다.
+ * 히트/미스는 billus.principal 캐시 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${billus.auth.principal-cache.max-size}")
+    private long maxSize;
+
+    @Value("${billus.auth.principal-cache.ttl-seconds}")
+    private long ttlSeconds;
+
+    private Cache<String, AuthUserDetails> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "billus.principal");
+    }
+
+    /**
+     * 캐시된 사용자 정보를 반환하고, 없으면 loader로 조회해 보관합니다. (조회 실패 시 보관하지 않음)
+     * @param role 역할 (Admin, Member, Store, Company)
+     * @param subject 토큰 subject
+     * @param loader DB 조회
+     */
+    public AuthUserDetails get(String role, String subject, Function<String, ? extends AuthUserDetails> loader) {
+        return cache.get(role + ":" + subject, key -> loader.apply(subject));
+    }
+
+    /**
+     * 해당 ID의 사용자/매장/회사 정보와, 해당 회사에 소속된 사용자 정보를 제거합니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후 한 번 더 제거해 커밋 전 다시 적재된 값도 지웁니다.
+     * @param id 사용자, 매장 또는 회사 ID
+     */
+    public void evict(UUID id) {
+        evictNow(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(id);
+                }
+            });
+        }
+    }
+
+    private void evictNow(UUID id) {
+        cache.asMap().values().removeIf(details -> references(details, id));
+        log.debug("PrincipalCache::evict id={}", id);
+    }
+
+    private boolean references(AuthUserDetails details, UUID id) {
+        if (id.equals(details.getUserId())) {
+            return true;
+        }
+        // Member는 회사 정보를 함께 들고 있으므로 회사 변경 시 소속 사용자도 제거
+        return details instanceof CustomUserDetails userDetails
+                && userDetails.getMember().getCompany() != null
+                && id.equals(userDetails.getMember().getCompany().getId());
+    }
+}
@@ -4,9 +4,11 @@ import com.klolarion.billusserver.security.AuthUserDetails;
 import com.klolarion.billusserver.exception.r401.InvalidTokenException;
 import com.klolarion.billusserver.exception.r404.ResourceNotFoundException;
 import com.klolarion.billusserver.security.CustomUserDetailsService;
+import com.klolarion.billusserver.security.PrincipalCache;
 import com.klolarion.billusserver.security.token.TokenService;
 import com.klolarion.billusserver.security.token.TokenUtil;
 import com.klolarion.billusserver.security.token.Tokens;
+import com.klolarion.billusserver.security.token.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,6 +36,7 @@ public class AuthFilter extends OncePerRequestFilter {
     private final TokenService tokenService;
     private final TokenUtil tokenUtil;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
     
     // 권한별 경로 패턴 정의
     private final Map<String, PathPattern> rolePatterns = new HashMap<>();
@@ -92,11 +95,12 @@ public class AuthFilter extends OncePerRequestFilter {
     private void authenticateAdmin(HttpServletRequest request) {
         Tokens tokens = tokenUtil.extractAdminTokens(request);
 
-        if (tokens.getAccessToken() == null || !tokenService.validateAdminAccessToken(tokens.getAccessToken())) {
+        VerifiedClaims claims = tokens.getAccessToken() == null ? null : tokenService.verifyAdminAccessToken(tokens.getAccessToken());
+        if (claims == null) {
             throw new InvalidTokenException("인증이 만료되었습니다. 다시 로그인하세요.");
         }
 
-        authenticateUserByToken(request, tokens.getAccessToken(), "Admin");
+        authenticateUserByClaims(request, claims, "Admin");
     }
 
     // ✅ Member 인증 처리 (Access Token 검증 및 필요 시 인증 서버에 갱신 요청)
@@ -108,7 +112,8 @@ public class AuthFilter extends OncePerRequestFilter {
             throw new InvalidTokenException("Member 인증 토큰이 없습니다.");
         }
 
-        if (!tokenService.validateMemberAccessToken(tokens.getAccessToken())) {
+        VerifiedClaims claims = tokenService.verifyMemberAccessToken(tokens.getAccessToken());
+        if (claims == null) {
             if (tokens.getRefreshToken() != null) {
                 // 인증 서버에 요청하여 새 Access Token 받기
                 tokenUtil.handleRefreshToken(tokens.getRefreshToken(), request, response, filterChain);
@@ -116,7 +121,8 @@ public class AuthFilter extends OncePerRequestFilter {
                 throw new InvalidTokenException("인증이 만료되었습니다. 다시 로그인하세요.");
             }
         } else {
-            authenticateUserByToken(request, tokens.getAccessToken(), "Member");
+            authenticateUserByClaims(request, claims, "Member");
+            filterChain.doFilter(request, response);
         }
     }
 
@@ -129,34 +135,32 @@ public class AuthFilter extends OncePerRequestFilter {
             throw new InvalidTokenException(role + " 인증 토큰이 없습니다.");
         }
 
-        if (!tokenService.validateBillusAccessToken(tokens.getAccessToken(), role)) {
+        VerifiedClaims claims = tokenService.verifyBillusAccessToken(tokens.getAccessToken(), role);
+        if (claims == null) {
             if (tokens.getRefreshToken() != null) {
-                // 자체 인증 서버에서 Access Token 갱신
-                String newAccessToken = tokenService.refreshAccessToken(tokens.getRefreshToken(), role);
-                authenticateUserByToken(request, newAccessToken, role);
+                // 자체 Refresh Token 검증 (검증된 subject로 바로 인증)
+                claims = tokenService.verifyRefreshToken(tokens.getRefreshToken(), role);
             } else {
                 throw new InvalidTokenException("인증이 만료되었습니다. 다시 로그인하세요.");
             }
-        } else {
-            authenticateUserByToken(request, tokens.getAccessToken(), role);
         }
+        authenticateUserByClaims(request, claims, role);
     }
 
 
-    // ✅ 사용자 정보 조회 및 보안 컨텍스트 설정
-    private void authenticateUserByToken(HttpServletRequest request, String token, String role) {
-        String userId = tokenService.extractBillusSub(token);
-        AuthUserDetails userDetails = loadUserByRole(userId, role);
+    // ✅ 사용자 정보 조회 및 보안 컨텍스트 설정 (검증 시 파싱한 subject 사용, 재파싱 없음)
+    private void authenticateUserByClaims(HttpServletRequest request, VerifiedClaims claims, String role) {
+        AuthUserDetails userDetails = loadUserByRole(claims.getSubject(), role);
         validateAndAuthenticateToken(request, userDetails);
     }
 
-    // ✅ 역할별 사용자 정보 조회
+    // ✅ 역할별 사용자 정보 조회 (PrincipalCache에 없을 때만 DB 조회)
     private AuthUserDetails loadUserByRole(String userId, String role) {
         return switch (role) {
-            case "Admin" -> customUserDetailsService.loadAdminById(userId);
-            case "Member" -> customUserDetailsService.loadUserByUsername(userId);
-            case "Store" -> customUserDetailsService.loadStoreById(userId);
-            case "Company" -> customUserDetailsService.loadCompanyById(userId);
+            case "Admin" -> principalCache.get(role, userId, customUserDetailsService::loadAdminById);
+            case "Member" -> principalCache.get(role, userId, customUserDetailsService::loadUserByUsername);
+            case "Store" -> principalCache.get(role, userId, customUserDetailsService::loadStoreById);
+            case "Company" -> principalCache.get(role, userId, customUserDetailsService::loadCompanyById);
             default -> throw new IllegalArgumentException("지원하지 않는 역할입니다: " + role);
         };
     }
@@ -0,0 +1,192 @@
+package com.klolarion.billusserver.security.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.klolarion.billusserver.config.HttpClientProperties;
+import com.klolarion.billusserver.exception.r401.InvalidTokenException;
+import com.klolarion.billusserver.exception.r503.ServiceUnavailableException;
+import com.klolarion.billusserver.util.http.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.klolarion.billusserver.util.constants.ExternalURL.ALMAGEST_AUTH_SERVER_RENEW_URL;
+
+/**
+ * Almagest Member 토큰 갱신 조정
+ * 같은 Refresh Token으로 동시에 들어온 갱신 요청은 외부 호출 1건을 공유합니다. (single-flight)
+ * 진행 중인 요청은 응답 타임아웃의 2배까지만 공유하고, 성공한 결과는 완료 시점부터 billus.almagest.refresh-grace-ms 동안
+ * 보관해 직후 도착한 요청도 재사용합니다. 실패 결과는 보관하지 않습니다.
+ * 인증 서버 장애(5xx, 타임아웃)가 이어지면 서킷 브레이커가 열려 호출 없이 바로 503으로 응답합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AlmagestTokenRefresher {
+    private final RestTemplate almagestRestTemplate;
+    private final HttpClientProperties httpClientProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${billus.almagest.refresh-grace-ms}")
+    private long refreshGraceMs;
+
+    @Value("${billus.almagest.breaker-failure-threshold}")
+    private int breakerFailureThreshold;
+
+    @Value("${billus.almagest.breaker-open-ms}")
+    private long breakerOpenMs;
+
+    private long readTimeoutMs;
+    private Cache<String, CompletableFuture<ResponseEntity<String>>> refreshes;
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    public void init() {
+        readTimeoutMs = httpClientProperties.destination("almagest").getReadTimeoutMs();
+        refreshes = Caffeine.newBuilder()
+                .expireAfter(new RefreshExpiry(Duration.ofMillis(readTimeoutMs * 2), Duration.ofMillis(refreshGraceMs)))
+                .maximumSize(10_000)
+                .build();
+        circuitBreaker = new CircuitBreaker("almagest", breakerFailureThreshold, breakerOpenMs);
+        Gauge.builder("billus.almagest.breaker.open", circuitBreaker, b -> b.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("Almagest 인증 서버 서킷 브레이커 열림 여부")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refresh Token으로 Almagest 인증 서버에 갱신을 요청합니다.
+     * @param refreshToken Member Refresh Token
+     * @return 인증 서버 응답 (Set-Cookie에 새 토큰)
+     * @throws InvalidTokenException 인증 서버가 갱신을 거부한 경우 (4xx)
+     * @throws ServiceUnavailableException 인증 서버 장애, 타임아웃 또는 서킷 브레이커 열림
+     */
+    public ResponseEntity<String> refresh(String refreshToken) {
+        String key = hash(refreshToken);
+        CompletableFuture<ResponseEntity<String>> created = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<String>> shared = refreshes.asMap().putIfAbsent(key, created);
+        if (shared != null) {
+            meterRegistry.counter("billus.almagest.refresh", "result", "shared").increment();
+            return await(shared);
+        }
+
+        try {
+            created.complete(call(refreshToken));
+            // 완료 시점부터 refresh-grace-ms 동안 보관 (RefreshExpiry.expireAfterUpdate)
+            refreshes.asMap().replace(key, created, created);
+        } catch (RuntimeException e) {
+            refreshes.asMap().remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return await(created);
+    }
+
+    private ResponseEntity<String> call(String refreshToken) {
+        if (!circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("billus.almagest.refresh", "result", "rejected").increment();
+            throw new ServiceUnavailableException("인증 서버에 연결할 수 없습니다. 잠시 후 다시 시도하세요.");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("Cookie", "refresh_token=" + refreshToken);
+        try {
+            ResponseEntity<String> response = almagestRestTemplate.exchange(
+                    ALMAGEST_AUTH_SERVER_RENEW_URL,
+                    HttpMethod.POST,
+                    new HttpEntity<Void>(headers),
+                    String.class
+            );
+            circuitBreaker.recordSuccess();
+            meterRegistry.counter("billus.almagest.refresh", "result", "success").increment();
+            return response;
+        } catch (HttpClientErrorException e) {
+            // 인증 서버는 정상, 토큰 거부
+            circuitBreaker.recordSuccess();
+            meterRegistry.counter("billus.almagest.refresh", "result", "rejected-token").increment();
+            throw new InvalidTokenException("인증이 만료되었습니다. 다시 로그인하세요.");
+        } catch (RestClientException e) {
+            circuitBreaker.recordFailure();
+            meterRegistry.counter("billus.almagest.refresh", "result", "failure").increment();
+            log.warn("Almagest::refresh failed : {}", e.getMessage());
+            throw new ServiceUnavailableException("인증 서버 응답이 없습니다. 잠시 후 다시 시도하세요.");
+        }
+    }
+
+    private ResponseEntity<String> await(CompletableFuture<ResponseEntity<String>> future) {
+        try {
+            // 먼저 시작한 요청의 타임아웃보다 조금 더 대기
+            return future.get(readTimeoutMs * 2, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ServiceUnavailableException("인증 서버 응답이 없습니다. 잠시 후 다시 시도하세요.");
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("인증 서버 응답이 없습니다. 잠시 후 다시 시도하세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("인증 서버 응답이 없습니다. 잠시 후 다시 시도하세요.");
+        }
+    }
+
+    /**
+     * 진행 중인 요청과 완료된 결과의 보관 시간을 분리
+     * 진행 중(미완료)인 요청은 응답 타임아웃의 2배, 완료된 결과는 완료 시점부터 grace 시간만 보관합니다.
+     */
+    private static class RefreshExpiry implements Expiry<String, CompletableFuture<ResponseEntity<String>>> {
+        private final long inFlightNanos;
+        private final long graceNanos;
+
+        RefreshExpiry(Duration inFlight, Duration grace) {
+            this.inFlightNanos = inFlight.toNanos();
+            this.graceNanos = grace.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CompletableFuture<ResponseEntity<String>> value, long currentTime) {
+            return value.isDone() ? graceNanos : inFlightNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CompletableFuture<ResponseEntity<String>> value,
+                                      long currentTime, long currentDuration) {
+            return value.isDone() ? graceNanos : inFlightNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, CompletableFuture<ResponseEntity<String>> value,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.klolarion.billusserver.security.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 검증된 Almagest Member 토큰 캐시 (토큰 SHA-256 -> VerifiedClaims)
+ * 같은 모바일 세션의 반복 요청이 RSA 서명 검증을 건너뛰도록 합니다.
+ * 항목은 토큰 만료 시각과 billus.auth.member-token-cache.ttl-seconds 중 빠른 쪽에 만료되며, 검증에 성공한 토큰만 보관합니다.
+ * 메트릭: billus.token.member 캐시 히트/미스, billus.token.member.verify(실제 RSA 검증 시간),
+ * billus.token.member.verify.saved(히트 수 x 평균 검증 시간, 초)
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberTokenCache {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${billus.auth.member-token-cache.max-size}")
+    private long maxSize;
+
+    @Value("${billus.auth.member-token-cache.ttl-seconds}")
+    private long ttlSeconds;
+
+    private Cache<String, VerifiedClaims> cache;
+    private Timer verifyTimer;
+
+    @PostConstruct
+    public void init() {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(claims.getExpiration().getTime() - System.currentTimeMillis());
+                        return Math.max(0, Math.min(ttlNanos, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "billus.token.member");
+
+        verifyTimer = Timer.builder("billus.token.member.verify")
+                .description("Member 토큰 RSA 서명 검증 시간")
+                .register(meterRegistry);
+        FunctionCounter.builder("billus.token.member.verify.saved", this,
+                        c -> c.cache.stats().hitCount() * c.verifyTimer.mean(TimeUnit.SECONDS))
+                .description("캐시 히트로 생략한 검증 시간 추정치 (초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 검증 결과를 반환하고, 없으면 verifier로 검증합니다. (null 결과는 보관하지 않음)
+     * @param token Member Access Token
+     * @param verifier 서명/발행자/만료 검증
+     * @return 검증된 토큰 정보, 유효하지 않으면 null
+     */
+    public VerifiedClaims get(String token, Function<String, VerifiedClaims> verifier) {
+        String key = hash(token);
+        VerifiedClaims cached = cache.getIfPresent(key);
+        if (cached != null && cached.getExpiration().after(new Date())) {
+            return cached;
+        }
+        VerifiedClaims verified = verifyTimer.record(() -> verifier.apply(token));
+        if (verified != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * 키 교체 시 전체 제거
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
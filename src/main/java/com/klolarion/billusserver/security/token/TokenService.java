@@ -6,12 +6,12 @@ import com.klolarion.billusserver.util.GenerateCodeUtil;
 import com.klolarion.billusserver.util.RedisService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.KeyFactory;
 import java.security.spec.X509EncodedKeySpec;
@@ -23,6 +23,7 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class TokenService {
     private final RedisService redisService;
+    private final MemberTokenCache memberTokenCache;
 
     @Value("${jwt.secret-key}")
     private String secretKey;
@@ -39,10 +40,37 @@ public class TokenService {
     private final String ALMAGEST_ISSUER = "https://almagest.io";
     private final String BILL_US_ISSUER = "https://almagest.io/bill-us";
 
+    // 요청마다 키 복원/파서 생성을 하지 않도록 미리 만들어 둔 키와 파서 (키 교체 시 통째로 교체)
+    private volatile SigningKeys signingKeys;
+
+    @PostConstruct
+    public void init() {
+        reloadKeys(publicKey, secretKey);
+    }
+
+    /**
+     * 🔹 **키 교체** - 공개 키/비밀 키로 검증 파서를 다시 만들어 교체합니다.
+     * 변환에 실패하면 예외가 발생하고 기존 키가 유지됩니다.
+     * @param publicKey Almagest 공개 키 (Base64 X.509)
+     * @param secretKey Bill-us 비밀 키 (Base64)
+     */
+    public synchronized void reloadKeys(String publicKey, String secretKey) {
+        Key memberKey = toPublicKey(publicKey);
+        Key billusKey = toSecretKey(secretKey);
+        this.signingKeys = new SigningKeys(
+                billusKey,
+                Jwts.parserBuilder().setSigningKey(memberKey).build(),
+                Jwts.parserBuilder().setSigningKey(billusKey).build());
+        this.publicKey = publicKey;
+        this.secretKey = secretKey;
+        memberTokenCache.invalidateAll();
+        log.info("🔑 JWT 서명 키 로드 완료");
+    }
+
     /**
      * 🔹 **Almagest Member** 공개 키 복원
      */
-    private Key toPublicKey() {
+    private Key toPublicKey(String publicKey) {
         try {
             byte[] decoded = Base64.getDecoder().decode(publicKey);
             X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
@@ -57,7 +85,7 @@ public class TokenService {
     /**
      * 🔹 **Secret Key (Bill-us) 변환**
      */
-    private Key toSecretKey() {
+    private Key toSecretKey(String secretKey) {
         byte[] decodedKey = Base64.getDecoder().decode(secretKey);
         return Keys.hmacShaKeyFor(decodedKey); // HMAC SHA256 키 생성
     }
@@ -66,9 +94,7 @@ public class TokenService {
      * ✅ **공개 키로 토큰 검증 (Almagest Member)**
      */
     private Claims getMemberClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(toPublicKey())
-                .build()
+        return signingKeys.memberParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -93,9 +119,7 @@ public class TokenService {
      * ✅ **비밀 키로 토큰 검증 (Bill-us Admin, Store, Company)**
      */
     private Claims getBillusClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(toSecretKey())
-                .build()
+        return signingKeys.billusParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -105,12 +129,26 @@ public class TokenService {
      * - 공개 키 사용
      */
     public boolean validateMemberAccessToken(String token) {
+        return verifyMemberAccessToken(token) != null;
+    }
+
+    /**
+     * ✅ **Member Access Token 검증 후 토큰 정보 반환 (Almagest)**
+     * - 검증에 성공한 토큰은 MemberTokenCache에 보관되어 만료 전까지 RSA 검증을 생략
+     * @return 검증된 토큰 정보, 유효하지 않으면 null
+     */
+    public VerifiedClaims verifyMemberAccessToken(String token) {
+        return memberTokenCache.get(token, this::verifyMemberSignature);
+    }
+
+    private VerifiedClaims verifyMemberSignature(String token) {
         try {
             Claims claims = getMemberClaims(token);
-            return claims.getIssuer().equals(ALMAGEST_ISSUER) && claims.getExpiration().after(new Date());
+            return ALMAGEST_ISSUER.equals(claims.getIssuer()) && claims.getExpiration().after(new Date())
+                    ? VerifiedClaims.from(claims) : null;
         } catch (JwtException e) {
             log.debug("🔴 Invalid Member Token");
-            return false;
+            return null;
         }
     }
 
@@ -123,9 +161,22 @@ public class TokenService {
     }
 
     public boolean validateAdminAccessToken(String token) {
+        return verifyAdminAccessToken(token) != null;
+    }
+
+    /**
+     * ✅ **Admin Access Token 검증 후 토큰 정보 반환**
+     * - Store/Company 토큰도 같은 키로 서명되므로 대상(Admin)까지 검증
+     * @return 검증된 토큰 정보, 발행자/대상/만료가 맞지 않으면 null
+     * @throws InvalidTokenException 서명 검증 실패
+     */
+    public VerifiedClaims verifyAdminAccessToken(String token) {
         try {
             Claims claims = getBillusClaims(token);
-            return claims.getIssuer().equals(BILL_US_ISSUER) && claims.getExpiration().after(new Date());
+            return BILL_US_ISSUER.equals(claims.getIssuer())
+                    && claims.getExpiration().after(new Date())
+                    && "Admin".equals(claims.getAudience())
+                    ? VerifiedClaims.from(claims) : null;
         } catch (JwtException e) {
             log.debug("🔴 Invalid Admin Token");
             throw new InvalidTokenException("Admin 인증 토큰이 유효하지 않습니다.");
@@ -153,14 +204,23 @@ public class TokenService {
      * - 역할(role)에 따라 Store 또는 Company의 Access Token을 검증
      */
     public boolean validateBillusAccessToken(String token, String role) {
+        return verifyBillusAccessToken(token, role) != null;
+    }
+
+    /**
+     * ✅ **Billus Access Token 검증 후 토큰 정보 반환 (Store, Company)**
+     * @return 검증된 토큰 정보, 유효하지 않으면 null
+     */
+    public VerifiedClaims verifyBillusAccessToken(String token, String role) {
         try {
             Claims claims = getBillusClaims(token);
-            return claims.getIssuer().equals(BILL_US_ISSUER)
+            return BILL_US_ISSUER.equals(claims.getIssuer())
                     && claims.getExpiration().after(new Date())
-                    && claims.getAudience().equals(role); // 역할도 검증
+                    && role.equals(claims.getAudience()) // 역할도 검증
+                    ? VerifiedClaims.from(claims) : null;
         } catch (JwtException e) {
             log.debug("🔴 Invalid {} Token", role);
-            return false;
+            return null;
         }
     }
 
@@ -172,19 +232,34 @@ public class TokenService {
      * @return 새로 생성된 Access Token
      */
     public String refreshAccessToken(String refreshToken, String role) {
+        // 🔹 새로운 Access Token 발급
+        return generateAccessToken(verifyRefreshToken(refreshToken, role).getSubject(), role, accessExpiration);
+    }
+
+    /**
+     * ✅ **Refresh Token 검증 후 토큰 정보 반환**
+     * - 서명, 발행자, 대상(role) 검증 후 Redis의 검증 문자열과 비교
+     * @param refreshToken 사용자의 Refresh Token
+     * @param role 사용자 역할 (Store 또는 Company)
+     * @return 검증된 토큰 정보
+     * @throws InvalidTokenException 만료, 서명 오류, 발행자/대상 불일치, 검증 문자열 불일치
+     */
+    public VerifiedClaims verifyRefreshToken(String refreshToken, String role) {
         try {
             Claims claims = getBillusClaims(refreshToken);
-            String userId = claims.getSubject();
+
+            // 🔹 다른 역할의 Refresh Token으로 인증하지 못하도록 발행자/대상 확인
+            if (!BILL_US_ISSUER.equals(claims.getIssuer()) || !role.equals(claims.getAudience())) {
+                throw new InvalidTokenException("Refresh Token이 유효하지 않습니다.");
+            }
 
             // 🔹 Redis에서 Refresh Token 검증 문자열 조회
-            String storedVerifyString = redisService.getRefreshTokenVerification(userId);
+            String storedVerifyString = redisService.getRefreshTokenVerification(claims.getSubject());
 
             if (storedVerifyString == null || !storedVerifyString.equals(claims.get("vfs"))) {
                 throw new InvalidTokenException("Refresh Token이 유효하지 않습니다.");
             }
-
-            // 🔹 새로운 Access Token 발급
-            return generateAccessToken(userId, role, accessExpiration);
+            return VerifiedClaims.from(claims);
         } catch (ExpiredJwtException e) {
             throw new InvalidTokenException("Refresh Token이 만료되었습니다. 다시 로그인하세요.");
         } catch (JwtException e) {
@@ -194,6 +269,7 @@ public class TokenService {
 
     /**
      * ✅ **공통 Access Token 생성**
+     * - 검증 파서(billusParser)와 같은 키로 서명해야 하므로 미리 만든 billusKey 사용 (키 교체 시 함께 교체)
      */
     private String generateAccessToken(String id, String audience, long expiration) {
         return Jwts.builder()
@@ -202,7 +278,7 @@ public class TokenService {
                 .setSubject(id)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(SignatureAlgorithm.HS256, secretKey.getBytes(StandardCharsets.UTF_8))
+                .signWith(signingKeys.billusKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -261,7 +337,22 @@ public class TokenService {
                 .setIssuedAt(new Date(System.currentTimeMillis())) // 현재 시간
                 .setExpiration(new Date(System.currentTimeMillis() + refreshExpiration)) // 만료 시간
                 .claim("vfs", verifyString) // 검증용 문자열 추가
-                .signWith(toSecretKey(), SignatureAlgorithm.HS256) // HS256 서명
+                .signWith(signingKeys.billusKey, SignatureAlgorithm.HS256) // HS256 서명
                 .compact();
     }
+
+    /**
+     * 미리 만든 서명 키와 검증 파서 (불변, JwtParser는 스레드 안전)
+     */
+    private static final class SigningKeys {
+        private final Key billusKey;
+        private final JwtParser memberParser;
+        private final JwtParser billusParser;
+
+        private SigningKeys(Key billusKey, JwtParser memberParser, JwtParser billusParser) {
+            this.billusKey = billusKey;
+            this.memberParser = memberParser;
+            this.billusParser = billusParser;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.klolarion.billusserver.security.token;
 
 import com.klolarion.billusserver.exception.r401.InvalidTokenException;
+import com.klolarion.billusserver.exception.r503.ServiceUnavailableException;
 import com.klolarion.billusserver.security.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,23 +9,19 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-import static com.klolarion.billusserver.util.constants.ExternalURL.ALMAGEST_AUTH_SERVER_RENEW_URL;
 import static com.klolarion.billusserver.util.constants.ExternalURL.ALMAGEST_LOGIN_PAGE_URL;
 
 
@@ -32,7 +29,7 @@ import static com.klolarion.billusserver.util.constants.ExternalURL.ALMAGEST_LOG
 @RequiredArgsConstructor
 public class TokenUtil {
 
-    private final RestTemplate restTemplate;
+    private final AlmagestTokenRefresher almagestTokenRefresher;
     private final TokenService tokenService;
     private final CustomUserDetailsService customUserDetailsService;
     /**
@@ -104,20 +101,17 @@ public class TokenUtil {
 
     /**
      * 인증토큰 갱신 요청
+     * 동시 요청은 AlmagestTokenRefresher에서 외부 호출 1건으로 합쳐지며, 인증 서버 장애 시 503으로 응답합니다.
      */
     public void handleRefreshToken(String refreshToken, HttpServletRequest request,
                                     HttpServletResponse response, FilterChain filterChain) throws IOException, ServletException {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Cookie", "refresh_token=" + refreshToken);
-        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
-
-
-        ResponseEntity<String> tokenResponse = restTemplate.exchange(
-                ALMAGEST_AUTH_SERVER_RENEW_URL,
-                HttpMethod.POST,
-                requestEntity,
-                String.class
-        );
+        ResponseEntity<String> tokenResponse;
+        try {
+            tokenResponse = almagestTokenRefresher.refresh(refreshToken);
+        } catch (ServiceUnavailableException e) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
 
         // 토큰 추출
         Tokens tokens = extractCookiesFromResponse(tokenResponse);
@@ -0,0 +1,24 @@
+package com.klolarion.billusserver.security.token;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 서명/발행자/만료 검증을 마친 토큰 정보
+ * 한 번 파싱한 결과를 인증 과정 전체에서 재사용합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedClaims {
+    private final String subject;
+    private final String audience;
+    private final String issuer;
+    private final Date expiration;
+
+    static VerifiedClaims from(Claims claims) {
+        return new VerifiedClaims(claims.getSubject(), claims.getAudience(), claims.getIssuer(), claims.getExpiration());
+    }
+}
@@ -7,6 +7,7 @@ import com.klolarion.billusserver.exception.r400.BadRequestException;
 import com.klolarion.billusserver.exception.r404.CompanyNotFoundException;
 import com.klolarion.billusserver.exception.r404.ApplyNotFoundException;
 import com.klolarion.billusserver.domain.repository.ApplyRepository;
+import com.klolarion.billusserver.security.PrincipalCache;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
@@ -28,6 +29,8 @@ public class ApplyService {
     private final JPAQueryFactory query;
     private final ApplyRepository applyRepository;
     private final EntityManager em;
+    private final PrincipalCache principalCache;
+    private final StoreSnapshotCache storeSnapshotCache;
 
     /**
      * 관리자 - 회사 비활성화
@@ -63,6 +66,7 @@ public class ApplyService {
                 .execute();
 
         em.clear();
+        principalCache.evict(companyId);
         log.info("회사 비활성화 완료: companyId={}", companyId);
     }
 
@@ -102,6 +106,8 @@ public class ApplyService {
                 .execute();
 
         em.clear();
+        principalCache.evict(storeId);
+        storeSnapshotCache.evict(storeId);
         log.info("매장 비활성화 완료: storeId={}", storeId);
     }
 
@@ -174,6 +180,7 @@ public class ApplyService {
                 .where(qMember.id.eq(memberId))
                 .execute();
 
+        principalCache.evict(memberId);
         log.info("사용자 등록 승인 완료: memberId={}, companyId={}", memberId, company.getId());
     }
 
@@ -215,6 +222,7 @@ public class ApplyService {
                 .execute();
 
         em.clear();
+        principalCache.evict(memberId);
         log.info("사용자 등록 취소 완료: memberId={}, companyId={}", memberId, company.getId());
     }
 
@@ -346,6 +354,7 @@ public class ApplyService {
                 .execute();
 
         em.clear();
+        principalCache.evict(member.getId());
         log.info("회사 등록 취소 완료: memberId={}, companyId={}", member.getId(), member.getCompany().getId());
     }
 }
@@ -1,18 +1,25 @@
 package com.klolarion.billusserver.service;
 
 import com.klolarion.billusserver.domain.entity.*;
+import com.klolarion.billusserver.domain.event.BillCreatedEvent;
 import com.klolarion.billusserver.dto.bill.BillRequestDto;
 import com.klolarion.billusserver.dto.bill.BillResponseDto;
+import com.klolarion.billusserver.dto.store.StoreSnapshot;
 import com.klolarion.billusserver.exception.r400.BadRequestException;
 import com.klolarion.billusserver.domain.repository.BillRepository;
+import com.klolarion.billusserver.util.BillDateRange;
+import com.klolarion.billusserver.util.pivot.DailyPivotQuery;
+import com.klolarion.billusserver.util.pivot.DailyPivotRow;
+import com.klolarion.billusserver.util.pivot.DailyPivotShape;
 import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -22,16 +29,23 @@ import java.util.UUID;
 @Transactional
 public class BillService {
 
+    private static final int MAX_VISITORS = 10;
+
     private final BillRepository billRepository;
-    private final JPAQueryFactory query;
+    private final BillSummaryService billSummaryService;
+    private final StoreSnapshotCache storeSnapshotCache;
     private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JPAQueryFactory query;
+    private final DailyPivotQuery dailyPivotQuery;
     private final QBill qBill = QBill.bill;
-    private final QStore qStore = QStore.store;
+    private final QBillSummary qBillSummary = QBillSummary.billSummary;
 
 
     /**
      * 직원이 새로운 장부를 생성합니다.
      * 매장 정보를 확인하고, 방문객 데이터가 있는 경우 visitorBill 메서드를 호출합니다.
+     * 장부 저장과 같은 트랜잭션에서 매출 집계를 갱신하고, 커밋 이후 매장 알림이 전송되도록 이벤트를 발행합니다.
      * 
      * @param requestDto 장부 생성 요청 정보 (매장 ID, 날짜, 방문객 수 등)
      * @param member 장부를 생성하는 직원 정보
@@ -39,55 +53,84 @@ public class BillService {
      * @throws BadRequestException 매장 정보를 찾을 수 없는 경우
      */
     public Bill newBill(BillRequestDto requestDto, Member member) {
-        Store store = query.selectFrom(qStore)
-                .where(qStore.id.eq(UUID.fromString(requestDto.getStoreId())))
-                .fetchOne();
-        if (store == null) {
+        // 매장은 스냅샷 캐시로 확인하고, 장부에는 조회 없이 참조(proxy)만 연결
+        StoreSnapshot snapshot = storeSnapshotCache.get(UUID.fromString(requestDto.getStoreId()));
+        if (snapshot == null) {
             throw new BadRequestException("매장 정보를 찾을 수 없습니다.");
         }
+        Store store = em.getReference(Store.class, snapshot.getId());
 
+        LocalDate billDate = BillDateRange.parseDate(requestDto.getDate());
         Bill newBill = Bill.builder()
                 .store(store)
                 .company(member.getCompany())
                 .member(member)
-                .date(requestDto.getDate())
+                .billDate(billDate)
+                .quantity(1)
+                .unitPrice(snapshot.getPrice())
                 .build();
+        billRepository.save(newBill);
+        billSummaryService.record(store, member.getCompany(), member, billDate, 1, amountOf(newBill));
 
         // 방문 데이터가 존재하면 visitorBill 실행
+        int extraCount = 0;
+        long amount = amountOf(newBill);
+        List<Long> billIds = new ArrayList<>();
+        billIds.add(newBill.getId());
         if (requestDto.getExtraCount() != null && !requestDto.getExtraCount().isEmpty()) {
-            int extraCount = Integer.parseInt(requestDto.getExtraCount());
-            if (extraCount > 10) {
+            extraCount = Integer.parseInt(requestDto.getExtraCount());
+            if (extraCount > MAX_VISITORS) {
                 throw new BadRequestException("방문은 최대 10명까지 등록 가능합니다.");
             }
             if (extraCount > 0) {
-                visitorBill(requestDto, extraCount, store, member);
+                Bill visitBill = visitorBill(newBill, extraCount);
+                amount += amountOf(visitBill);
+                billIds.add(visitBill.getId());
             }
         }
+
+        // 커밋 이후 FCM 알림 전송 (FCMNotificationService)
+        eventPublisher.publishEvent(BillCreatedEvent.builder()
+                .storeId(snapshot.getId())
+                .companyId(member.getCompany().getId())
+                .companyName(member.getCompany().getCompanyName())
+                .memberName(member.getMemberName())
+                .billDate(billDate)
+                .createdDate(newBill.getCreatedDate())
+                .extraCount(extraCount)
+                .quantity(1 + extraCount)
+                .amount(amount)
+                .billIds(billIds)
+                .build());
         return newBill;
     }
 
     /**
      * 방문객 장부를 생성합니다.
-     * 방문객은 최대 10명까지 등록 가능하며, 각 방문객마다 별도의 장부가 생성됩니다.
+     * 방문객은 최대 10명까지 등록 가능하며, 방문 인원을 식수(quantity)로 갖는 장부 1건으로 저장합니다.
      * 
-     * @param requestDto 장부 생성 요청 정보
+     * @param memberBill 방문객을 등록한 직원의 장부
      * @param count 방문객 수
-     * @param store 방문한 매장 정보
-     * @param member 방문객을 등록한 직원 정보
+     * @return 생성된 방문객 장부
      */
-    public void visitorBill(BillRequestDto requestDto, int count, Store store, Member member) {
-        member.setMemberName("방문");
-
-        for (int i = 0; i < count; i++) {
-            Bill visitBill = Bill.builder()
-                    .store(store)
-                    .company(member.getCompany())
-                    .member(null)  // Bill에서 Member가 Null이면 방문객 장부
-                    .date(requestDto.getDate())
-                    .build();
+    public Bill visitorBill(Bill memberBill, int count) {
+        Bill visitBill = Bill.builder()
+                .store(memberBill.getStore())
+                .company(memberBill.getCompany())
+                .member(null)  // Bill에서 Member가 Null이면 방문객 장부
+                .billDate(memberBill.getBillDate())
+                .quantity(count)
+                .unitPrice(memberBill.getUnitPrice())
+                .build();
+        billRepository.save(visitBill);
 
-            billRepository.save(visitBill);
-        }
+        billSummaryService.record(memberBill.getStore(), memberBill.getCompany(), null, memberBill.getBillDate(),
+                count, amountOf(visitBill));
+        return visitBill;
+    }
+
+    private long amountOf(Bill bill) {
+        return bill.getAmount() == null ? 0 : bill.getAmount();
     }
 
     /**
@@ -104,20 +147,21 @@ public class BillService {
         List<BillResponseDto> result = new ArrayList<>();
 
         List<Tuple> list = query.select(
-                        qBill.store.storeName,
-                        qBill.member.memberName,
-                        qBill.store.price.sum()
-                ).from(qBill)
-                .where(qBill.company.id.eq(company.getId())
-                        .and(qBill.date.contains(month))
-                        .and(qBill.store.id.eq(UUID.fromString(storeId))))
-                .groupBy(qBill.member.memberName)
+                        qBillSummary.store.storeName,
+                        qBillSummary.member.memberName,
+                        qBillSummary.totalPrice.sum()
+                ).from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month))
+                        .and(qBillSummary.company.id.eq(company.getId()))
+                        .and(qBillSummary.store.id.eq(UUID.fromString(storeId))))
+                .groupBy(qBillSummary.member.memberName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String memberName = tuple.get(qBill.member.memberName);
-            String storeName = tuple.get(qBill.store.storeName);
-            String total = tuple.get(qBill.store.price.sum()).toString();
+            String memberName = tuple.get(qBillSummary.member.memberName);
+            String storeName = tuple.get(qBillSummary.store.storeName);
+            String total = tuple.get(qBillSummary.totalPrice.sum()).toString();
             BillResponseDto tmp = BillResponseDto.builder()
                     .index(++index)
                     .employeeName(memberName)
@@ -143,22 +187,23 @@ public class BillService {
     public List<BillResponseDto> monthlyStoreBillTotalList(String month, Company company) {
         List<BillResponseDto> result = new ArrayList<>();
         Integer index = 0;
-        Integer total = null;
+        Long total = null;
 
         List<Tuple> list = query.select(
-                        qBill.store.storeName,
-                        qBill.store.price.sum()
-                ).from(qBill)
-                .where(qBill.company.id.eq(company.getId())
-                        .and(qBill.date.contains(month)))
-                .groupBy(qBill.store.storeName)
+                        qBillSummary.store.storeName,
+                        qBillSummary.totalPrice.sum()
+                ).from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.store.storeName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String storeName = tuple.get(qBill.store.storeName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String storeName = tuple.get(qBillSummary.store.storeName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if (sum != null) {
-                total = Integer.valueOf(sum);
+                total = sum;
             }
             BillResponseDto tmp = BillResponseDto.builder()
                     .index(++index)
@@ -189,14 +234,14 @@ public class BillService {
 
         List<Bill> list = query.selectFrom(qBill)
                 .where(qBill.company.id.eq(company.getId())
-                        .and(qBill.date.contains(month))
+                        .and(BillDateRange.ofMonth(month).on(qBill.billDate))
                         .and(qBill.member.id.eq(UUID.fromString(memberId))))
                 .fetch();
 
         for (Bill bill : list) {
             String memberName = bill.getMember().getMemberName();
             String storeName = bill.getStore().getStoreName();
-            String price = bill.getStore().getPrice().toString();
+            String price = String.valueOf(bill.getAmount());
             String date = bill.getDate();
             BillResponseDto tmp = BillResponseDto.builder()
                     .index(++index)
@@ -223,22 +268,23 @@ public class BillService {
     public List<BillResponseDto> monthlyEmployeeBillTotal(String month, Company company) {
         List<BillResponseDto> result = new ArrayList<>();
         Integer index = 0;
-        Integer total = null;
+        Long total = null;
 
         List<Tuple> list = query.select(
-                        qBill.member.memberName,
-                        qBill.store.price.sum()
-                ).from(qBill)
-                .where(qBill.company.id.eq(company.getId())
-                        .and(qBill.date.contains(month)))
-                .groupBy(qBill.member.memberName)
+                        qBillSummary.member.memberName,
+                        qBillSummary.totalPrice.sum()
+                ).from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.member.memberName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String memberName = tuple.get(qBill.member.memberName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String memberName = tuple.get(qBillSummary.member.memberName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if (sum != null) {
-                total = Integer.valueOf(sum);
+                total = sum;
             }
             BillResponseDto tmp = BillResponseDto.builder()
                     .index(++index)
@@ -263,32 +309,9 @@ public class BillService {
      * @param storeId 매장 ID
      * @return 매장별 월간 직원 방문 현황 목록
      */
-    public List<Object[]> monthlyCompanyBillDetail(String month, String storeId, Company company) {
-        //기준날짜 리스트
-        List<String> dayList = new ArrayList<>();
-        for (int i = 1; i < 32; i++) {
-            String tmp = String.format("%02d", i);
-            dayList.add(month + tmp);
-        }
-
-        //쿼리문 생성
-        String sql = "select member_name, ";
-        for (int i = 0; i < dayList.size(); i++) {
-            if (i == 30) {
-                String tmp = "MAX(CASE WHEN date = \'" + dayList.get(i) + "\' THEN row_count ELSE 0 END) AS \"01\" ";
-                sql += tmp;
-            } else {
-                String tmp = "MAX(CASE WHEN date = \'" + dayList.get(i) + "\' THEN row_count ELSE 0 END) AS \"01\", ";
-                sql += tmp;
-            }
-        }
-        sql += "from ( SELECT member_name, date, COUNT(*) AS row_count FROM bill WHERE store_id = '" + storeId + "' AND company_id = '" + company.getId() + "' AND date LIKE '" + month + "%' GROUP BY member_name, date) as subquery group by member_name;";
-
-        //쿼리 실행
-        Query result = em.createNativeQuery(sql);
-        List<Object[]> resultList = result.getResultList();
-
-        return resultList;
+    public List<DailyPivotRow> monthlyCompanyBillDetail(String month, String storeId, Company company) {
+        return dailyPivotQuery.fetch(DailyPivotShape.MEMBER_BY_STORE_AND_COMPANY, BillDateRange.ofMonth(month),
+                UUID.fromString(storeId), company.getId());
     }
 
     /**
@@ -301,24 +324,25 @@ public class BillService {
     public List<BillResponseDto> monthlyCompanyBillTotalList(String month, Store store) {
         List<BillResponseDto> result = new ArrayList<>();
         Integer index = 0;
-        Integer total = null;
+        Long total = null;
 
         List<Tuple> list = query.select(
-                        qBill.company.id,
-                        qBill.company.companyName,
-                        qBill.store.price.sum()
-                ).from(qBill)
-                .where(qBill.store.id.eq(store.getId())
-                        .and(qBill.date.contains(month)))
-                .groupBy(qBill.company.companyName)
+                        qBillSummary.company.id,
+                        qBillSummary.company.companyName,
+                        qBillSummary.totalPrice.sum()
+                ).from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month))
+                        .and(qBillSummary.store.id.eq(store.getId())))
+                .groupBy(qBillSummary.company.id, qBillSummary.company.companyName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String companyId = tuple.get(qBill.company.id).toString();
-            String companyName = tuple.get(qBill.company.companyName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String companyId = tuple.get(qBillSummary.company.id).toString();
+            String companyName = tuple.get(qBillSummary.company.companyName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if (sum != null) {
-                total = Integer.valueOf(sum);
+                total = sum;
             }
             BillResponseDto tmp = BillResponseDto.builder()
                     .index(++index)
@@ -345,24 +369,25 @@ public class BillService {
     public List<BillResponseDto> dailyCompanyBillTotalList(String date, Store store) {
         List<BillResponseDto> result = new ArrayList<>();
         Integer index = 0;
-        Integer total = null;
+        Long total = null;
 
         List<Tuple> list = query.select(
-                        qBill.company.id,
-                        qBill.company.companyName,
-                        qBill.store.price.sum()
-                ).from(qBill)
-                .where(qBill.store.id.eq(store.getId())
-                        .and(qBill.date.contains(date)))
-                .groupBy(qBill.company.companyName)
+                        qBillSummary.company.id,
+                        qBillSummary.company.companyName,
+                        qBillSummary.totalPrice.sum()
+                ).from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.DAY)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.store.id.eq(store.getId())))
+                .groupBy(qBillSummary.company.id, qBillSummary.company.companyName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String companyId = tuple.get(qBill.company.id).toString();
-            String companyName = tuple.get(qBill.company.companyName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String companyId = tuple.get(qBillSummary.company.id).toString();
+            String companyName = tuple.get(qBillSummary.company.companyName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if (sum != null) {
-                total = Integer.valueOf(sum);
+                total = sum;
             }
             BillResponseDto tmp = BillResponseDto.builder()
                     .index(++index)
@@ -386,31 +411,8 @@ public class BillService {
      * @param month 조회할 월 (YYYYMM 형식)
      * @return 매장별 월간 회사 방문 현황 목록
      */
-    public List<Object[]> monthlyStoreBillDetail(String month, Store store) {
-        //기준날짜 리스트
-        List<String> dayList = new ArrayList<>();
-        for (int i = 1; i < 32; i++) {
-            String tmp = String.format("%02d", i);
-            dayList.add(month + tmp);
-        }
-
-        //쿼리문 생성
-        String sql = "select company_name, price,";
-        for (int i = 0; i < dayList.size(); i++) {
-            if (i == 30) {
-                String tmp = "MAX(CASE WHEN date = \'" + dayList.get(i) + "\' THEN row_count ELSE 0 END) AS \"01\" ";
-                sql += tmp;
-            } else {
-                String tmp = "MAX(CASE WHEN date = \'" + dayList.get(i) + "\' THEN row_count ELSE 0 END) AS \"01\", ";
-                sql += tmp;
-            }
-        }
-        sql += "from ( SELECT company_name, date, price, COUNT(*) AS row_count FROM bill WHERE store_id = '" + store.getId() + "' AND date LIKE '" + month + "%' GROUP BY company_name, date) as subquery group by company_name;";
-
-        //쿼리 실행
-        Query result = em.createNativeQuery(sql);
-        List<Object[]> resultList = result.getResultList();
-
-        return resultList;
+    public List<DailyPivotRow> monthlyStoreBillDetail(String month, Store store) {
+        return dailyPivotQuery.fetch(DailyPivotShape.COMPANY_BY_STORE, BillDateRange.ofMonth(month),
+                store.getId(), null);
     }
 }
@@ -0,0 +1,195 @@
+package com.klolarion.billusserver.service;
+
+import com.klolarion.billusserver.domain.entity.*;
+import com.klolarion.billusserver.util.BillDateRange;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static com.klolarion.billusserver.util.constants.Formatter.DATE_FORMATTER;
+
+/**
+ * 장부 매출 집계(롤업) 서비스
+ * 장부 등록 시 일/월/연 집계를 갱신하고, 기존 장부 데이터로 집계를 재생성/검증합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BillSummaryService {
+
+    private static final String INSERT_COLUMNS = "INSERT INTO bill_summary " +
+            "(period_type, period, store_id, company_id, member_id, member_key, bill_count, total_price) VALUES ";
+    private static final String UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE " +
+            "bill_count = bill_count + VALUES(bill_count), total_price = total_price + VALUES(total_price)";
+    private static final String MEMBER_UPSERT_SQL = buildUpsertSql(":memberId");
+    private static final String VISITOR_UPSERT_SQL = buildUpsertSql("NULL");
+
+    private final JPAQueryFactory query;
+    private final EntityManager em;
+    private final QBillSummary qBillSummary = QBillSummary.billSummary;
+    private final QBill qBill = QBill.bill;
+
+    /**
+     * 장부 등록 시 일/월/연 집계를 한 번의 쿼리로 갱신합니다.
+     * 장부 등록 트랜잭션 안에서 호출되어 장부와 집계가 함께 커밋/롤백됩니다.
+     *
+     * @param store 매장
+     * @param company 회사
+     * @param member 직원 (Null이면 방문객)
+     * @param date 장부 날짜
+     * @param count 장부 건수
+     * @param amount 매출 금액
+     */
+    public void record(Store store, Company company, Member member, LocalDate date, long count, long amount) {
+        Query upsert = em.createNativeQuery(member == null ? VISITOR_UPSERT_SQL : MEMBER_UPSERT_SQL)
+                .setParameter("storeId", store.getId())
+                .setParameter("companyId", company.getId())
+                .setParameter("memberKey", member == null ? "" : member.getId().toString())
+                .setParameter("count", count)
+                .setParameter("amount", amount);
+        if (member != null) {
+            upsert.setParameter("memberId", member.getId());
+        }
+        for (SummaryPeriod period : SummaryPeriod.values()) {
+            upsert.setParameter(period.name().toLowerCase(), period.keyOf(date));
+        }
+        upsert.executeUpdate();
+    }
+
+    /**
+     * 장부가 존재하는 모든 연도의 집계를 재생성합니다. (최초 적용 시 백필 용도)
+     *
+     * @return 재생성한 연도 목록
+     */
+    public List<String> rebuildAll() {
+        List<String> years = new ArrayList<>();
+        List<Integer> billYears = query.select(qBill.billYear)
+                .from(qBill)
+                .where(qBill.billYear.isNotNull())
+                .distinct()
+                .fetch();
+        for (Integer year : billYears) {
+            rebuildYear(String.valueOf(year));
+            years.add(String.valueOf(year));
+        }
+        return years;
+    }
+
+    /**
+     * 특정 연도의 집계를 장부 데이터로부터 다시 생성합니다.
+     * 기존 집계를 삭제한 뒤 일/월/연 단위로 다시 적재하며, 금액은 장부에 저장된 금액(등록 시점 단가 x 식수)을 합산합니다.
+     * 재생성 중 등록되는 장부는 누락될 수 있으므로 장부 등록이 적은 시간에 실행합니다.
+     *
+     * @param year 재생성할 연도 (YYYY 형식)
+     */
+    public void rebuildYear(String year) {
+        BillDateRange range = BillDateRange.ofYear(year);
+        em.createNativeQuery("DELETE FROM bill_summary WHERE period LIKE :prefix")
+                .setParameter("prefix", year + "%")
+                .executeUpdate();
+
+        for (SummaryPeriod period : SummaryPeriod.values()) {
+            String periodKey = "LEFT(DATE_FORMAT(b.bill_date, '%Y%m%d'), " + period.getKeyLength() + ")";
+            String sql = "INSERT INTO bill_summary " +
+                    "(period_type, period, store_id, company_id, member_id, member_key, bill_count, total_price) " +
+                    "SELECT '" + period.name() + "', " + periodKey + ", b.store_id, b.company_id, b.member_id, " +
+                    "IFNULL(b.member_id, ''), SUM(b.quantity), IFNULL(SUM(b.amount), 0) " +
+                    "FROM bill b " +
+                    "WHERE b.bill_date >= :start AND b.bill_date < :end " +
+                    "GROUP BY " + periodKey + ", b.store_id, b.company_id, b.member_id";
+            em.createNativeQuery(sql)
+                    .setParameter("start", range.getStart())
+                    .setParameter("end", range.getEnd())
+                    .executeUpdate();
+        }
+        log.info("BillSummary::rebuilt year {}", year);
+    }
+
+    /**
+     * 특정 월의 매장별 장부 건수(식수)와 금액을 장부 데이터와 집계 데이터에서 각각 계산해 비교합니다.
+     * 장부에 등록 시점 금액이 저장되므로 가격이 변경되어도 두 값이 같아야 합니다.
+     *
+     * @param month 검증할 월 (YYYYMM 형식)
+     * @return 건수 또는 금액이 일치하지 않는 매장 ID 목록
+     */
+    public List<String> verifyMonth(String month) {
+        Map<UUID, long[]> billTotals = new HashMap<>();
+        NumberExpression<Long> quantitySum = qBill.quantity.sum().longValue();
+        List<Tuple> bills = query.select(qBill.store.id, quantitySum, qBill.amount.sum())
+                .from(qBill)
+                .where(BillDateRange.ofMonth(month).on(qBill.billDate))
+                .groupBy(qBill.store.id)
+                .fetch();
+        for (Tuple tuple : bills) {
+            billTotals.put(tuple.get(qBill.store.id), totals(tuple.get(quantitySum), tuple.get(qBill.amount.sum())));
+        }
+
+        Map<UUID, long[]> summaryTotals = new HashMap<>();
+        List<Tuple> summaries = query.select(qBillSummary.store.id, qBillSummary.billCount.sum(), qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month)))
+                .groupBy(qBillSummary.store.id)
+                .fetch();
+        for (Tuple tuple : summaries) {
+            summaryTotals.put(tuple.get(qBillSummary.store.id),
+                    totals(tuple.get(qBillSummary.billCount.sum()), tuple.get(qBillSummary.totalPrice.sum())));
+        }
+
+        Set<UUID> storeIds = new HashSet<>(billTotals.keySet());
+        storeIds.addAll(summaryTotals.keySet());
+
+        long[] empty = new long[2];
+        List<String> mismatched = new ArrayList<>();
+        for (UUID storeId : storeIds) {
+            long[] expected = billTotals.getOrDefault(storeId, empty);
+            long[] actual = summaryTotals.getOrDefault(storeId, empty);
+            if (!Arrays.equals(expected, actual)) {
+                log.warn("BillSummary::mismatch month={} store={} bill={}/{} summary={}/{}", month, storeId,
+                        expected[0], expected[1], actual[0], actual[1]);
+                mismatched.add(storeId.toString());
+            }
+        }
+        return mismatched;
+    }
+
+    /**
+     * 매일 새벽 전월/당월 집계를 검증합니다.
+     */
+    @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+    public void verifyRecentMonths() {
+        String thisMonth = LocalDate.now().format(DATE_FORMATTER).substring(0, 6);
+        String lastMonth = LocalDate.now().minusMonths(1).format(DATE_FORMATTER).substring(0, 6);
+        for (String month : List.of(lastMonth, thisMonth)) {
+            List<String> mismatched = verifyMonth(month);
+            if (!mismatched.isEmpty()) {
+                log.error("BillSummary::{} store(s) out of sync for {}. Run rebuild for year {}",
+                        mismatched.size(), month, month.substring(0, 4));
+            }
+        }
+    }
+
+    private static long[] totals(Long count, Long amount) {
+        return new long[]{count == null ? 0 : count, amount == null ? 0 : amount};
+    }
+
+    private static String buildUpsertSql(String memberId) {
+        StringJoiner values = new StringJoiner(", ");
+        for (SummaryPeriod period : SummaryPeriod.values()) {
+            values.add("('" + period.name() + "', :" + period.name().toLowerCase() + ", :storeId, :companyId, "
+                    + memberId + ", :memberKey, :count, :amount)");
+        }
+        return INSERT_COLUMNS + values + UPSERT_SUFFIX;
+    }
+}
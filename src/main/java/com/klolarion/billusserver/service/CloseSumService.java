@@ -2,10 +2,14 @@ package com.klolarion.billusserver.service;
 
 import com.klolarion.billusserver.domain.entity.Bill;
 import com.klolarion.billusserver.domain.entity.QBill;
+import com.klolarion.billusserver.domain.entity.QBillSummary;
 import com.klolarion.billusserver.domain.entity.Store;
 import com.klolarion.billusserver.domain.entity.Company;
+import com.klolarion.billusserver.domain.entity.SummaryPeriod;
 import com.klolarion.billusserver.dto.InfoResponseDto;
 import com.klolarion.billusserver.dto.bill.BillResponseDto;
+import com.klolarion.billusserver.dto.store.StoreDayTotalDto;
+import com.klolarion.billusserver.util.BillDateRange;
 import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
@@ -20,60 +24,56 @@ import java.util.UUID;
 public class CloseSumService {
 
     private final JPAQueryFactory query;
+    private final StoreDayCounterService storeDayCounterService;
 
     // [특정 매장] 일별 전체 매출 합계
     public Integer storeDayAllSum(String date, Store store) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.eq(date).and(qBill.store.id.eq(store.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.DAY)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.store.id.eq(store.getId())))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [특정 매장] 일별 전체 매출 합계 (매장용 모바일)
     public InfoResponseDto storeDayAllSumMobile(String date, Store store) {
-        QBill qBill = QBill.bill;
-        Tuple tuple = query.select(qBill.store.price.sum(), qBill.count())
-                .from(qBill)
-                .where(qBill.date.eq(date).and(qBill.store.id.eq(store.getId())))
-                .fetchOne();
-
-        try {
-            return InfoResponseDto.builder()
-                    .storeName(null)
-                    .totalSum(String.valueOf(tuple.get(qBill.store.price.sum())))
-                    .count(String.valueOf(tuple.get(qBill.count())))
-                    .build();
-        }catch (Exception e){
-            return InfoResponseDto.builder()
-                    .storeName(null)
-                    .totalSum("0")
-                    .count("0")
-                    .build();
-        }
+        StoreDayTotalDto dayTotal = storeDayCounterService.get(store.getId(), BillDateRange.parseDate(date));
+        return InfoResponseDto.builder()
+                .storeName(null)
+                .totalSum(String.valueOf(dayTotal.getTotal()))
+                .count(String.valueOf(dayTotal.getCount()))
+                .build();
     }
 
     // [특정 매장] 월별 전체 매출 합계
     public Integer storeMonthAllSum(String month, Store store) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.contains(month).and(qBill.store.id.eq(store.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month))
+                        .and(qBillSummary.store.id.eq(store.getId())))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [특정 매장] 월별 전체 매출 합계 (매장용 모바일)
     public InfoResponseDto storeMonthAllSumMobile(String month, Store store) {
-        QBill qBill = QBill.bill;
-        Tuple tuple = query.select(qBill.store.price.sum(), qBill.count())
-                .from(qBill)
-                .where(qBill.date.contains(month).and(qBill.store.id.eq(store.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Tuple tuple = query.select(qBillSummary.totalPrice.sum(), qBillSummary.billCount.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(month))
+                        .and(qBillSummary.store.id.eq(store.getId())))
                 .fetchOne();
         try {
             return InfoResponseDto.builder()
                     .storeName(null)
-                    .totalSum(String.valueOf(tuple.get(qBill.store.price.sum())))
-                    .count(String.valueOf(tuple.get(qBill.count())))
+                    .totalSum(String.valueOf(tuple.get(qBillSummary.totalPrice.sum())))
+                    .count(String.valueOf(tuple.get(qBillSummary.billCount.sum())))
                     .build();
         }catch (Exception e){
             return InfoResponseDto.builder()
@@ -86,26 +86,31 @@ public class CloseSumService {
 
     // [특정 매장] 연별 전체 매출 합계
     public Integer storeYearAllSum(String year, Store store) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.contains(year).and(qBill.store.id.eq(store.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.YEAR)
+                        .and(qBillSummary.period.eq(year))
+                        .and(qBillSummary.store.id.eq(store.getId())))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [특정 매장] 연별 전체 매출 합계 (매장용 모바일)
     public InfoResponseDto storeYearAllSumMobile(String year, Store store) {
-        QBill qBill = QBill.bill;
-        Tuple tuple = query.select(qBill.store.price.sum(), qBill.count())
-                .from(qBill)
-                .where(qBill.date.contains(year).and(qBill.store.id.eq(store.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Tuple tuple = query.select(qBillSummary.totalPrice.sum(), qBillSummary.billCount.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.YEAR)
+                        .and(qBillSummary.period.eq(year))
+                        .and(qBillSummary.store.id.eq(store.getId())))
                 .fetchOne();
 
         try {
             return InfoResponseDto.builder()
                     .storeName(null)
-                    .totalSum(String.valueOf(tuple.get(qBill.store.price.sum())))
-                    .count(String.valueOf(tuple.get(qBill.count())))
+                    .totalSum(String.valueOf(tuple.get(qBillSummary.totalPrice.sum())))
+                    .count(String.valueOf(tuple.get(qBillSummary.billCount.sum())))
                     .build();
         }catch (Exception e){
             return InfoResponseDto.builder()
@@ -118,29 +123,38 @@ public class CloseSumService {
 
     // [회사 전체] 일별 전체 매출 합계
     public Integer companyDayAllSum(String date, Company company) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.eq(date).and(qBill.company.id.eq(company.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.DAY)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [회사 전체] 월별 전체 매출 합계
     public Integer companyMonthAllSum(String date, Company company) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.contains(date).and(qBill.company.id.eq(company.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [회사 전체] 연별 전체 매출 합계
     public Integer companyYearAllSum(String year, Company company) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.contains(year).and(qBill.company.id.eq(company.getId())))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.YEAR)
+                        .and(qBillSummary.period.eq(year))
+                        .and(qBillSummary.company.id.eq(company.getId())))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [회사 전체] 일별 매장별 매출 합계
@@ -148,19 +162,21 @@ public class CloseSumService {
         List<InfoResponseDto> result = new ArrayList<>();
         Long total = null;
 
-        QBill qBill = QBill.bill;
+        QBillSummary qBillSummary = QBillSummary.billSummary;
 
-        List<Tuple> list = query.select(qBill.store.storeName, qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.company.id.eq(company.getId()).and(qBill.date.contains(date)))
-                .groupBy(qBill.store.storeName)
+        List<Tuple> list = query.select(qBillSummary.store.storeName, qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.DAY)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.store.storeName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String storeName = tuple.get(qBill.store.storeName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String storeName = tuple.get(qBillSummary.store.storeName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if(sum!=null) {
-                total = Long.valueOf(sum);
+                total = sum;
             }
             InfoResponseDto tmp = InfoResponseDto.builder()
                     .storeName(storeName)
@@ -177,19 +193,21 @@ public class CloseSumService {
         List<InfoResponseDto> result = new ArrayList<>();
         Long total = null;
 
-        QBill qBill = QBill.bill;
+        QBillSummary qBillSummary = QBillSummary.billSummary;
 
-        List<Tuple> list = query.select(qBill.store.storeName, qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.company.id.eq(company.getId()).and(qBill.date.contains(date)))
-                .groupBy(qBill.store.storeName)
+        List<Tuple> list = query.select(qBillSummary.store.storeName, qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.store.storeName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String storeName = tuple.get(qBill.store.storeName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String storeName = tuple.get(qBillSummary.store.storeName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if(sum!=null) {
-                total = Long.valueOf(sum);
+                total = sum;
             }
             InfoResponseDto tmp = InfoResponseDto.builder()
                     .storeName(storeName)
@@ -206,19 +224,21 @@ public class CloseSumService {
         List<InfoResponseDto> result = new ArrayList<>();
         Long total = null;
 
-        QBill qBill = QBill.bill;
+        QBillSummary qBillSummary = QBillSummary.billSummary;
 
-        List<Tuple> list = query.select(qBill.member.memberName, qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.company.id.eq(company.getId()).and(qBill.date.contains(date)))
-                .groupBy(qBill.member.memberName)
+        List<Tuple> list = query.select(qBillSummary.member.memberName, qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.member.memberName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String memberName = tuple.get(qBill.member.memberName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String memberName = tuple.get(qBillSummary.member.memberName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if(sum!=null) {
-                total = Long.valueOf(sum);
+                total = sum;
             }
             InfoResponseDto tmp = InfoResponseDto.builder()
                     .storeName(null)
@@ -235,19 +255,21 @@ public class CloseSumService {
         List<InfoResponseDto> result = new ArrayList<>();
         Long total = null;
 
-        QBill qBill = QBill.bill;
+        QBillSummary qBillSummary = QBillSummary.billSummary;
 
-        List<Tuple> list = query.select(qBill.store.storeName, qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.company.id.eq(company.getId()).and(qBill.date.contains(date)))
-                .groupBy(qBill.store.storeName)
+        List<Tuple> list = query.select(qBillSummary.store.storeName, qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.YEAR)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.store.storeName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String storeName = tuple.get(qBill.store.storeName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String storeName = tuple.get(qBillSummary.store.storeName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if(sum!=null) {
-                total = Long.valueOf(sum);
+                total = sum;
             }
             InfoResponseDto tmp = InfoResponseDto.builder()
                     .storeName(storeName)
@@ -264,19 +286,21 @@ public class CloseSumService {
         List<InfoResponseDto> result = new ArrayList<>();
         Long total = null;
 
-        QBill qBill = QBill.bill;
+        QBillSummary qBillSummary = QBillSummary.billSummary;
 
-        List<Tuple> list = query.select(qBill.member.memberName, qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.company.id.eq(company.getId()).and(qBill.date.contains(date)))
-                .groupBy(qBill.member.memberName)
+        List<Tuple> list = query.select(qBillSummary.member.memberName, qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.YEAR)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.company.id.eq(company.getId())))
+                .groupBy(qBillSummary.member.memberName)
                 .fetch();
 
         for (Tuple tuple : list) {
-            String memberName = tuple.get(qBill.member.memberName);
-            Integer sum = tuple.get(qBill.store.price.sum());
+            String memberName = tuple.get(qBillSummary.member.memberName);
+            Long sum = tuple.get(qBillSummary.totalPrice.sum());
             if(sum!=null) {
-                total = Long.valueOf(sum);
+                total = sum;
             }
             InfoResponseDto tmp = InfoResponseDto.builder()
                     .storeName(null)
@@ -290,11 +314,14 @@ public class CloseSumService {
 
     // [특정 직원] 월별 전체 매출 합계
     public Integer memberMonthAllSum(String date, String memberId) {
-        QBill qBill = QBill.bill;
-        return query.select(qBill.store.price.sum())
-                .from(qBill)
-                .where(qBill.date.contains(date).and(qBill.member.id.eq(UUID.fromString(memberId))))
+        QBillSummary qBillSummary = QBillSummary.billSummary;
+        Long sum = query.select(qBillSummary.totalPrice.sum())
+                .from(qBillSummary)
+                .where(qBillSummary.periodType.eq(SummaryPeriod.MONTH)
+                        .and(qBillSummary.period.eq(date))
+                        .and(qBillSummary.member.id.eq(UUID.fromString(memberId))))
                 .fetchOne();
+        return sum == null ? null : sum.intValue();
     }
 
     // [특정 직원] 월별 상세 매출 내역
@@ -303,7 +330,7 @@ public class CloseSumService {
         QBill qBill = QBill.bill;
 
         List<Bill> list = query.selectFrom(qBill)
-                .where(qBill.date.contains(date).and(qBill.member.id.eq(UUID.fromString(memberId))))
+                .where(BillDateRange.ofMonth(date).on(qBill.billDate).and(qBill.member.id.eq(UUID.fromString(memberId))))
                 .fetch();
 
         for (Bill bill : list) {
@@ -311,7 +338,7 @@ public class CloseSumService {
                     .storeName(bill.getStore().getStoreName())
                     .employeeName(bill.getMember().getMemberName())
                     .companyName(bill.getCompany().getCompanyName())
-                    .price(String.valueOf(bill.getStore().getPrice()))
+                    .price(String.valueOf(bill.getAmount()))
                     .date(bill.getDate())
                     .build();
             result.add(tmp);
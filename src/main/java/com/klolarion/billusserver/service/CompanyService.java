@@ -6,14 +6,13 @@ import com.klolarion.billusserver.dto.company.CompanyResponseDto;
 import com.klolarion.billusserver.dto.member.MemberResponseDto;
 import com.klolarion.billusserver.exception.r400.BadRequestException;
 import com.klolarion.billusserver.exception.r401.AuthFailureException;
+import com.klolarion.billusserver.security.PrincipalCache;
 import com.klolarion.billusserver.util.GenerateCodeUtil;
-import com.klolarion.billusserver.util.MailHandler;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -26,9 +25,10 @@ import java.util.List;
 @Slf4j
 public class CompanyService {
     private final JPAQueryFactory query;
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
     private final EntityManager em;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
     private final QCompany qCompany = QCompany.company;
     private final QMember qMember = QMember.member;
 
@@ -109,6 +109,7 @@ public class CompanyService {
         if (execute == 0) {
             throw new BadRequestException("회사 정보 수정에 실패했습니다.");
         }
+        principalCache.evict(company.getId());
     }
 
     /**
@@ -133,6 +134,7 @@ public class CompanyService {
         if (execute == 0) {
             throw new BadRequestException("비밀번호 변경에 실패했습니다.");
         }
+        principalCache.evict(company.getId());
     }
 
     /**
@@ -153,14 +155,6 @@ public class CompanyService {
         }
 
         try {
-            MailHandler mailHandler = new MailHandler(mailSender);
-            String companyEmail = company.getEmail();
-
-            mailHandler.setTo(companyEmail);
-            mailHandler.setSubject("Bill-us 비밀번호 초기화");
-            mailHandler.setText("초기화된 비밀번호 : " + randomPassword, false);
-            mailHandler.send();
-
             long execute = query.update(qCompany)
                     .set(qCompany.password, passwordEncoder.encode(randomPassword))
                     .where(qCompany.id.eq(company.getId()))
@@ -169,6 +163,9 @@ public class CompanyService {
             if (execute == 0) {
                 throw new BadRequestException("비밀번호 초기화에 실패했습니다.");
             }
+            principalCache.evict(company.getId());
+            mailOutboxService.enqueue(company.getEmail(), "Bill-us 비밀번호 초기화",
+                    "초기화된 비밀번호 : " + randomPassword, false);
 
             em.clear();
             log.info("비밀번호 초기화 완료: account={}", company.getCompanyAccount());
@@ -1,19 +1,17 @@
 package com.klolarion.billusserver.service;
 
-import com.klolarion.billusserver.domain.*;
-import com.klolarion.billusserver.domain.QOtp;
 import com.klolarion.billusserver.domain.entity.*;
 import com.klolarion.billusserver.exception.r400.BadRequestException;
-import com.klolarion.billusserver.util.MailHandler;
+import com.klolarion.billusserver.security.PrincipalCache;
+import com.klolarion.billusserver.util.otp.OtpStore;
+import com.klolarion.billusserver.util.otp.OtpVerifyResult;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.MailSendException;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
@@ -21,27 +19,23 @@ import java.util.UUID;
 @Transactional
 @Slf4j
 public class EmailVerificationService {
-    private final JavaMailSender javaMailSender;
+    private final MailOutboxService mailOutboxService;
     private final JPAQueryFactory query;
+    private final PrincipalCache principalCache;
+    private final OtpStore otpStore;
     private final QStore qStore = QStore.store;
     private final QCompany qCompany = QCompany.company;
-    private final QOtp qOtp = QOtp.otp;
 
     /**
      * 이메일 인증 코드 전송
+     * 대기열에 저장하고, 실제 발송은 MailOutboxService 스케줄러가 처리한다.
      */
     public void send(String code, String email) {
-        try {
-            MailHandler mailHandler = new MailHandler(javaMailSender);
-
-            mailHandler.setTo(email);
-            mailHandler.setSubject("Bill-us 이메일 인증");
-            String htmlContent = "<p>" + "인증 코드 : " + code + "</p>";
-            mailHandler.setText(htmlContent, true);
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (email == null || email.isEmpty()) {
             throw new MailSendException("이메일 전송 실패.");
         }
+        String htmlContent = "<p>" + "인증 코드 : " + code + "</p>";
+        mailOutboxService.enqueue(email, "Bill-us 이메일 인증", htmlContent, true);
     }
 
     /**
@@ -69,30 +63,17 @@ public class EmailVerificationService {
             throw new BadRequestException("유효하지 않은 대상 타입");
         }
 
-        // OTP 조회
-        Otp otp = query.selectFrom(qOtp)
-                      .where(qOtp.id.eq(id)
-                            .and(qOtp.targetType.eq(target))
-                            .and(qOtp.isUsed.eq("F"))
-                            .and(qOtp.expireTime.gt(LocalDateTime.now())))
-                      .fetchOne();
-
-        if (otp == null) {
+        // OTP 검증 및 사용 처리
+        OtpVerifyResult result = otpStore.verifyAndConsume(target, id, code);
+        if (result == OtpVerifyResult.NOT_FOUND) {
             throw new BadRequestException("OTP조회 실패");
         }
 
         // 입력한 코드와 OTP의 코드가 일치하는지 확인
-        if (!code.equals(otp.getCode())) {
+        if (result == OtpVerifyResult.MISMATCH) {
             throw new BadRequestException("OTP 검증 실패.");
         }
 
-        // OTP 사용 처리
-        query.update(qOtp)
-             .set(qOtp.isUsed, "T")
-             .where(qOtp.id.eq(id)
-                   .and(qOtp.targetType.eq(target)))
-             .execute();
-
         // target에 따라 이메일 인증 플래그 업데이트
         if (target.equals("STORE")) {
             query.update(qStore)
@@ -105,5 +86,6 @@ public class EmailVerificationService {
                  .where(qCompany.id.eq(UUID.fromString(id)))
                  .execute();
         }
+        principalCache.evict(UUID.fromString(id));
     }
 }
@@ -0,0 +1,329 @@
+package com.klolarion.billusserver.service;
+
+import com.klolarion.billusserver.domain.entity.Company;
+import com.klolarion.billusserver.domain.entity.Store;
+import com.klolarion.billusserver.dto.export.ExportJobRequestDto;
+import com.klolarion.billusserver.dto.export.ExportJobResponseDto;
+import com.klolarion.billusserver.dto.export.ExportJobStatus;
+import com.klolarion.billusserver.dto.export.ExportReportType;
+import com.klolarion.billusserver.dto.store.StoreSnapshot;
+import com.klolarion.billusserver.exception.r400.BadRequestException;
+import com.klolarion.billusserver.exception.r404.ResourceNotFoundException;
+import com.klolarion.billusserver.exception.r409.ConflictException;
+import com.klolarion.billusserver.exception.r503.ServiceUnavailableException;
+import com.klolarion.billusserver.util.BillDateRange;
+import com.klolarion.billusserver.util.excel.ExcelDocument;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 대용량 엑셀 비동기 생성 작업 관리
+ * 요청 스레드는 작업ID만 받고, 고정 크기 워커 풀이 로컬 디스크에 파일을 생성합니다.
+ * 동일한 요청(소유자 + 보고서 종류 + 조건)이 진행 중이면 기존 작업을 그대로 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+    private static final String FAILED_MESSAGE = "엑셀 생성 중 오류가 발생했습니다. 잠시 후 다시 시도해주세요.";
+
+    private final ExcelExportService excelExportService;
+    private final BillService billService;
+    private final CompanyService companyService;
+
+    @Value("${billus.export.dir}")
+    private String exportDir;
+
+    @Value("${billus.export.workers}")
+    private int workers;
+
+    @Value("${billus.export.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${billus.export.ttl-minutes}")
+    private long ttlMinutes;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ExportJob> inFlight = new ConcurrentHashMap<>();
+    private Path directory;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Files.createDirectories(Paths.get(exportDir));
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 회사 보고서 생성 요청
+     * @param requestDto 보고서 종류 및 조건
+     * @param company 요청 회사
+     * @return 작업 상태
+     */
+    public ExportJobResponseDto submitCompanyJob(ExportJobRequestDto requestDto, Company company) {
+        validate(requestDto, ExportReportType.Owner.COMPANY);
+        String month = requestDto.getMonth();
+        String targetId = requestDto.getTargetId();
+        Supplier<ExcelDocument> renderer = switch (requestDto.getType()) {
+            case COMPANY_EMPLOYEE_LIST -> () -> excelExportService.companyEmployeeListDocument(
+                    companyService.findMyEmp(company));
+            case COMPANY_MONTH_EMPLOYEE_TOTAL -> () -> excelExportService.companyMonthlyEmpTotalBillDocument(
+                    billService.monthlyEmployeeBillTotal(month, company));
+            case COMPANY_MONTH_EMPLOYEE_DETAIL -> () -> excelExportService.companyMonthlyEmpDetailBillDocument(
+                    billService.monthlyEmployeeBillList(month, targetId, company));
+            case COMPANY_MONTH_STORE_TOTAL -> () -> excelExportService.companyMonthlyStoreTotalDocument(
+                    billService.monthlyStoreBillTotalList(month, company));
+            case COMPANY_MONTH_STORE_DETAIL -> () -> excelExportService.companyMonthlyStoreDetailBillDocument(
+                    billService.monthlyStoreBillDetailList(month, targetId, company));
+            case COMPANY_MONTH_DETAIL -> {
+                // 잘못된 매장은 작업 등록 전에 400으로 응답
+                StoreSnapshot store = excelExportService.findCompanyStore(targetId, company);
+                yield () -> excelExportService.companyMonthlyDetailBillDocument(
+                        billService.monthlyCompanyBillDetail(month, targetId, company), company.getCompanyName(), store, month);
+            }
+            case COMPANY_MONTH_ALL_STORE_DETAIL -> () -> excelExportService.companyMonthlyAllStoreDetailDocument(
+                    month, company.getId().toString());
+            default -> throw new BadRequestException("지원하지 않는 보고서 종류입니다.");
+        };
+        return submit(ownerKey(company), requestDto, renderer);
+    }
+
+    /**
+     * 매장 보고서 생성 요청
+     * @param requestDto 보고서 종류 및 조건
+     * @param store 요청 매장
+     * @return 작업 상태
+     */
+    public ExportJobResponseDto submitStoreJob(ExportJobRequestDto requestDto, Store store) {
+        validate(requestDto, ExportReportType.Owner.STORE);
+        String month = requestDto.getMonth();
+        Supplier<ExcelDocument> renderer = switch (requestDto.getType()) {
+            case STORE_DAILY_TOTAL -> () -> excelExportService.storeDailyBillDocument(
+                    billService.dailyCompanyBillTotalList(requestDto.getDate(), store));
+            case STORE_MONTH_COMPANY_TOTAL -> () -> excelExportService.storeMonthlyCompanyTotalDocument(
+                    billService.monthlyCompanyBillTotalList(month, store));
+            case STORE_MONTH_DETAIL -> () -> excelExportService.storeMonthlyDetailBillDocument(
+                    billService.monthlyStoreBillDetail(month, store), store, month);
+            default -> throw new BadRequestException("지원하지 않는 보고서 종류입니다.");
+        };
+        return submit(ownerKey(store), requestDto, renderer);
+    }
+
+    /**
+     * 작업 상태 조회 (소유자가 아니면 존재하지 않는 작업으로 처리)
+     */
+    public ExportJobResponseDto findJob(String jobId, Company company) {
+        return toDto(ownedJob(jobId, ownerKey(company)));
+    }
+
+    public ExportJobResponseDto findJob(String jobId, Store store) {
+        return toDto(ownedJob(jobId, ownerKey(store)));
+    }
+
+    /**
+     * 생성 완료된 파일 다운로드
+     */
+    public ResponseEntity<Resource> download(String jobId, Company company) {
+        return download(ownedJob(jobId, ownerKey(company)));
+    }
+
+    public ResponseEntity<Resource> download(String jobId, Store store) {
+        return download(ownedJob(jobId, ownerKey(store)));
+    }
+
+    /**
+     * 보관 기간이 지난 완료/실패 작업과 파일 정리
+     */
+    @Scheduled(fixedDelayString = "${billus.export.cleanup-interval-ms}")
+    public void cleanupExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusMinutes(ttlMinutes);
+        jobs.values().removeIf(job -> {
+            if (job.getFinishedDate() == null || job.getFinishedDate().isAfter(expiredBefore)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    private ExportJobResponseDto submit(String ownerKey, ExportJobRequestDto requestDto, Supplier<ExcelDocument> renderer) {
+        String dedupKey = String.join(":", ownerKey, requestDto.getType().name(),
+                String.valueOf(requestDto.getMonth()), String.valueOf(requestDto.getDate()), String.valueOf(requestDto.getTargetId()));
+
+        ExportJob created = new ExportJob(ownerKey, dedupKey, requestDto.getType());
+        ExportJob job = inFlight.putIfAbsent(dedupKey, created);
+        if (job != null) {
+            // 동일 조건 작업이 대기/생성 중이면 재사용
+            return toDto(job);
+        }
+
+        jobs.put(created.getId(), created);
+        try {
+            executor.execute(() -> render(created, renderer));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(dedupKey, created);
+            jobs.remove(created.getId());
+            throw new ServiceUnavailableException("엑셀 생성 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return toDto(created);
+    }
+
+    private void render(ExportJob job, Supplier<ExcelDocument> renderer) {
+        job.status = ExportJobStatus.RUNNING;
+        Path file = directory.resolve(job.getId() + ".xlsx");
+        try {
+            String fileName;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                ExcelDocument document = renderer.get();
+                fileName = document.getFileName();
+                document.writeTo(out);
+            }
+            job.file = file;
+            job.fileName = fileName;
+            job.status = ExportJobStatus.DONE;
+        } catch (Exception e) {
+            log.error("엑셀 생성 실패 - jobId: {}, type: {}", job.getId(), job.getType(), e);
+            deleteQuietly(file);
+            // 예외 내용(SQL, 파일 경로 등)은 로그에만 남기고 클라이언트에는 고정 문구만 전달
+            job.message = FAILED_MESSAGE;
+            job.status = ExportJobStatus.FAILED;
+        } finally {
+            job.finishedDate = LocalDateTime.now();
+            inFlight.remove(job.getDedupKey(), job);
+        }
+    }
+
+    private ResponseEntity<Resource> download(ExportJob job) {
+        if (job.getStatus() != ExportJobStatus.DONE) {
+            throw new ConflictException("엑셀 파일이 아직 준비되지 않았습니다. (" + job.getStatus().getDescription() + ")");
+        }
+        if (!Files.exists(job.getFile())) {
+            throw new ResourceNotFoundException("엑셀 파일이 만료되었습니다.");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(job.getFileName(), StandardCharsets.UTF_8)
+                .build());
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private void validate(ExportJobRequestDto requestDto, ExportReportType.Owner owner) {
+        ExportReportType type = requestDto.getType();
+        if (type == null || type.getOwner() != owner) {
+            throw new BadRequestException("지원하지 않는 보고서 종류입니다.");
+        }
+        if (type.isMonthRequired()) {
+            BillDateRange.ofMonth(requestDto.getMonth());
+        }
+        if (type.isDateRequired()) {
+            BillDateRange.parseDate(requestDto.getDate());
+        }
+        if (type.isTargetRequired() && (requestDto.getTargetId() == null || requestDto.getTargetId().isBlank())) {
+            throw new BadRequestException("대상 ID가 필요합니다.");
+        }
+    }
+
+    private ExportJob ownedJob(String jobId, String ownerKey) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerKey().equals(ownerKey)) {
+            throw new ResourceNotFoundException("내보내기 작업을 찾을 수 없습니다.");
+        }
+        return job;
+    }
+
+    private ExportJobResponseDto toDto(ExportJob job) {
+        return ExportJobResponseDto.builder()
+                .jobId(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .fileName(job.getFileName())
+                .message(job.getMessage())
+                .createdDate(job.getCreatedDate())
+                .finishedDate(job.getFinishedDate())
+                .build();
+    }
+
+    private String ownerKey(Company company) {
+        return "Company:" + company.getId();
+    }
+
+    private String ownerKey(Store store) {
+        return "Store:" + store.getId();
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("엑셀 파일 삭제 실패 - {}", file, e);
+        }
+    }
+
+    @Getter
+    private static class ExportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String ownerKey;
+        private final String dedupKey;
+        private final ExportReportType type;
+        private final LocalDateTime createdDate = LocalDateTime.now();
+        private volatile ExportJobStatus status = ExportJobStatus.PENDING;
+        private volatile Path file;
+        private volatile String fileName;
+        private volatile String message;
+        private volatile LocalDateTime finishedDate;
+
+        private ExportJob(String ownerKey, String dedupKey, ExportReportType type) {
+            this.ownerKey = ownerKey;
+            this.dedupKey = dedupKey;
+            this.type = type;
+        }
+    }
+}
@@ -1,94 +1,319 @@
 package com.klolarion.billusserver.service;
 
-import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.Notification;
-import com.klolarion.billusserver.domain.entity.Bill;
-import com.klolarion.billusserver.domain.entity.QBill;
-import com.klolarion.billusserver.domain.entity.QStore;
-import com.klolarion.billusserver.domain.entity.Store;
-import com.querydsl.core.Tuple;
-import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.klolarion.billusserver.domain.event.BillCreatedEvent;
+import com.klolarion.billusserver.dto.store.StoreDayTotalDto;
+import com.klolarion.billusserver.util.fcm.FcmSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 장부 등록 FCM 알림 전송
+ * 장부 등록 트랜잭션이 커밋된 뒤 이벤트를 매장별로 모아 두었다가, billus.fcm.coalesce-window-ms 주기로
+ * 매장당 1건의 알림으로 합쳐 일괄 전송(sendEach)합니다.
+ * 오늘 건수/총액은 매장 일별 누계(StoreDayCounterService)에서 주기당 한 번에 읽습니다.
+ * 매장 FCM 토큰은 매장 스냅샷 캐시(StoreSnapshotCache)에서 읽습니다.
+ * 일시적인 오류는 지수 백오프로 재시도하고, 최종 실패/큐 초과 건은 fcm.dead-letter 로그에 남깁니다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class FCMNotificationService {
-    private final FirebaseMessaging firebaseMessaging;
-    private final JPAQueryFactory query;
+    private static final Logger deadLetterLog = LoggerFactory.getLogger("fcm.dead-letter");
+    private static final String TITLE = "Bill-us 장부 등록";
+    private static final Set<MessagingErrorCode> RETRYABLE_CODES = Set.of(
+            MessagingErrorCode.UNAVAILABLE, MessagingErrorCode.INTERNAL, MessagingErrorCode.QUOTA_EXCEEDED);
+
+    private final FcmSender fcmSender;
+    private final StoreSnapshotCache storeSnapshotCache;
+    private final MeterRegistry meterRegistry;
+    private final StoreDayCounterService storeDayCounterService;
+
+    @Value("${billus.fcm.workers}")
+    private int workers;
+
+    @Value("${billus.fcm.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${billus.fcm.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${billus.fcm.backoff-ms}")
+    private long backoffMs;
+
+    private final Map<UUID, PendingPush> pending = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+    private Timer sendTimer;
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter deadLetterCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fcm-sender-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("billus.fcm.queue.depth", executor, e -> e.getQueue().size())
+                .description("전송 대기 중인 FCM 일괄 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("billus.fcm.pending.stores", pending, Map::size)
+                .description("다음 전송 주기를 기다리는 매장 수")
+                .register(meterRegistry);
+        sendTimer = Timer.builder("billus.fcm.send.latency")
+                .description("FCM 일괄 전송 1회 소요 시간")
+                .register(meterRegistry);
+        sentCounter = meterRegistry.counter("billus.fcm.send", "result", "success");
+        failedCounter = meterRegistry.counter("billus.fcm.send", "result", "failure");
+        deadLetterCounter = meterRegistry.counter("billus.fcm.dead-letter");
+        coalescedCounter = meterRegistry.counter("billus.fcm.coalesced");
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flush();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("FCM::{} batch(es) dropped on shutdown", executor.shutdownNow().size());
+        }
+    }
 
     /**
-     * FCM 토큰을 이용해 매장에 장부 등록 알림을 전송합니다.
-     * @param newBill   새로 등록된 장부 엔티티(Bill)
-     * @param extraCount 추가 데이터(예: 추가 건수 등)
-     * @return 알림 전송 성공 여부 (성공: true, 실패: false)
+     * 장부 등록 커밋 후 매장별 대기 알림에 합칩니다. (장부 등록 응답은 전송을 기다리지 않음)
+     * @param event 장부 등록 이벤트
      */
-    public boolean sendNotificationByToken(Bill newBill, String extraCount) {
-        // FCM 알림 제목
-        String title = "Bill-us 장부 등록";
-        QStore qStore = QStore.store;
-        QBill qBill = QBill.bill;
-        Long count;
-        Long total;
-
-        try {
-            // 장부등록에 사용된 매장 UUID로 매장 조회
-            Store store = query.selectFrom(qStore)
-                    .where(qStore.id.eq(newBill.getStore().getId()))
-                    .fetchOne();
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBillCreated(BillCreatedEvent event) {
+        pending.merge(event.getStoreId(), new PendingPush(event), PendingPush::merge);
+    }
 
-            if (store != null) {
-                // 오늘 날짜, 매장 기준으로 장부 건수 및 총액 집계
-                Tuple tuple = query.select(qBill.store.price.sum(), qBill.count())
-                        .from(qBill)
-                        .where(qBill.date.eq(newBill.getDate())
-                                .and(qBill.store.id.eq(store.getId())))
-                        .fetchOne();
+    /**
+     * 대기 중인 매장 알림을 매장당 1건으로 만들어 일괄 전송 큐에 넣습니다.
+     * 토큰과 카운터 조회도 매장 단위가 아닌 주기 단위로 한 번에 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${billus.fcm.coalesce-window-ms}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<PendingPush> pushes = new ArrayList<>();
+        for (UUID storeId : new ArrayList<>(pending.keySet())) {
+            PendingPush push = pending.remove(storeId);
+            if (push != null) {
+                pushes.add(push);
+            }
+        }
 
+        List<Message> messages = new ArrayList<>();
+        List<PendingPush> targets = new ArrayList<>();
+        try {
+            Map<UUID, String> tokens = loadTokens(pushes);
+            Map<UUID, StoreDayTotalDto> dayTotals = loadDayTotals(pushes);
+            for (PendingPush push : pushes) {
+                String token = tokens.get(push.latest.getStoreId());
+                if (token == null) {
+                    // FCM 토큰이 없는 매장
+                    continue;
+                }
+                messages.add(buildMessage(push, token, dayTotals.get(push.latest.getStoreId())));
+                targets.add(push);
+                if (push.billCount > 1) {
+                    coalescedCounter.increment(push.billCount - 1);
+                }
+            }
+        } catch (Exception e) {
+            pushes.forEach(push -> deadLetter(push, "build failed: " + e.getMessage()));
+            return;
+        }
 
-                count = tuple.get(qBill.count());
-                total = Long.valueOf(tuple.get(qBill.store.price.sum()));
+        for (int from = 0; from < messages.size(); from += FcmSender.MAX_BATCH_SIZE) {
+            int to = Math.min(from + FcmSender.MAX_BATCH_SIZE, messages.size());
+            List<Message> batchMessages = new ArrayList<>(messages.subList(from, to));
+            List<PendingPush> batchPushes = new ArrayList<>(targets.subList(from, to));
+            try {
+                executor.execute(() -> deliver(batchMessages, batchPushes));
+            } catch (RejectedExecutionException e) {
+                batchPushes.forEach(push -> deadLetter(push, "queue full"));
+            }
+        }
+    }
 
+    /**
+     * 일괄 전송 후 재시도 가능한 실패 건만 모아 백오프 뒤 다시 전송합니다.
+     */
+    private void deliver(List<Message> messages, List<PendingPush> pushes) {
+        for (int attempt = 1; !messages.isEmpty(); attempt++) {
+            List<FirebaseMessagingException> results;
+            long start = System.nanoTime();
+            try {
+                results = fcmSender.sendEach(messages);
+            } catch (FirebaseMessagingException e) {
+                FirebaseMessagingException[] all = new FirebaseMessagingException[messages.size()];
+                Arrays.fill(all, e);
+                results = List.of(all);
+            } finally {
+                sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
 
-                if (store.getFirebaseToken() != null) {
-                    Notification notification = Notification.builder()
-                            .setTitle(title)
-//                        .setImage("")
-                            .build();
-
-                    // Bill, Store, Company, Member 엔티티에서 정보 추출
-                    Message message = Message.builder()
-                            .setToken(store.getFirebaseToken())
-                            .setNotification(notification)
-                            .putData("type", "bill")
-                            .putData("companyId", newBill.getCompany().getId().toString())
-                            .putData("companyName", newBill.getCompany().getCompanyName())
-                            .putData("memberName", newBill.getMember().getMemberName())
-                            .putData("extraCount", extraCount)
-                            .putData("createdDate", newBill.getCreatedDate())
-                            .putData("todayCount", String.valueOf(count))
-                            .putData("todayTotal", String.valueOf(total))
-                            .build();
-
-                    try {
-                        firebaseMessaging.send(message);
-                        return true;
-                    } catch (FirebaseMessagingException e) {
-                        e.printStackTrace();
-                        return false;
-                    }
+            List<Message> retryMessages = new ArrayList<>();
+            List<PendingPush> retryPushes = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                FirebaseMessagingException error = results.get(i);
+                if (error == null) {
+                    sentCounter.increment();
+                    continue;
+                }
+                failedCounter.increment();
+                if (isRetryable(error) && attempt < maxAttempts) {
+                    retryMessages.add(messages.get(i));
+                    retryPushes.add(pushes.get(i));
                 } else {
-                    return false;
+                    deadLetter(pushes.get(i), error.getMessagingErrorCode() + " " + error.getMessage());
                 }
             }
+            if (retryMessages.isEmpty()) {
+                return;
+            }
+            log.warn("FCM::{} message(s) failed (attempt {}/{}), retrying", retryMessages.size(), attempt, maxAttempts);
+            if (!backoff(attempt)) {
+                retryPushes.forEach(push -> deadLetter(push, "interrupted"));
+                return;
+            }
+            messages = retryMessages;
+            pushes = retryPushes;
+        }
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    private Map<UUID, String> loadTokens(List<PendingPush> pushes) {
+        Set<UUID> storeIds = new HashSet<>();
+        pushes.forEach(push -> storeIds.add(push.latest.getStoreId()));
+
+        Map<UUID, String> tokens = new HashMap<>();
+        storeSnapshotCache.getAll(storeIds).forEach((storeId, snapshot) -> {
+            if (snapshot.getFirebaseToken() != null) {
+                tokens.put(storeId, snapshot.getFirebaseToken());
+            }
+        });
+        return tokens;
+    }
+
+    /**
+     * 대기 알림 매장들의 장부 날짜별 누계를 한 번에 읽습니다.
+     */
+    private Map<UUID, StoreDayTotalDto> loadDayTotals(List<PendingPush> pushes) {
+        Map<LocalDate, Set<UUID>> storeIdsByDate = new HashMap<>();
+        for (PendingPush push : pushes) {
+            storeIdsByDate.computeIfAbsent(push.latest.getBillDate(), date -> new HashSet<>())
+                    .add(push.latest.getStoreId());
+        }
+        Map<UUID, StoreDayTotalDto> dayTotals = new HashMap<>();
+        storeIdsByDate.forEach((date, storeIds) -> dayTotals.putAll(storeDayCounterService.getAll(storeIds, date)));
+        return dayTotals;
+    }
+
+    private Message buildMessage(PendingPush push, String firebaseToken, StoreDayTotalDto dayTotal) {
+        BillCreatedEvent event = push.latest;
+
+        Notification notification = Notification.builder()
+                .setTitle(TITLE)
+//                        .setImage("")
+                .build();
+
+        return Message.builder()
+                .setToken(firebaseToken)
+                .setNotification(notification)
+                .putData("type", "bill")
+                .putData("companyId", event.getCompanyId().toString())
+                .putData("companyName", event.getCompanyName())
+                .putData("memberName", event.getMemberName())
+                .putData("extraCount", String.valueOf(event.getExtraCount()))
+                .putData("createdDate", event.getCreatedDate())
+                .putData("billCount", String.valueOf(push.billCount))
+                .putData("todayCount", String.valueOf(dayTotal.getCount()))
+                .putData("todayTotal", String.valueOf(dayTotal.getTotal()))
+                .build();
+    }
+
+    private boolean isRetryable(FirebaseMessagingException e) {
+        // 오류 코드가 없으면 네트워크 오류로 보고 재시도
+        return e.getMessagingErrorCode() == null || RETRYABLE_CODES.contains(e.getMessagingErrorCode());
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(backoffMs << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return false;
         }
-        return false;
     }
 
+    private void deadLetter(PendingPush push, String reason) {
+        BillCreatedEvent event = push.latest;
+        deadLetterCounter.increment();
+        deadLetterLog.error("store={} company={} member={} billDate={} createdDate={} billCount={} reason={}",
+                event.getStoreId(), event.getCompanyId(), event.getMemberName(), event.getBillDate(),
+                event.getCreatedDate(), push.billCount, reason);
+    }
+
+    /**
+     * 한 전송 주기 동안 모인 매장 알림 (마지막 등록 정보 + 등록 건수)
+     */
+    private static class PendingPush {
+        private final BillCreatedEvent latest;
+        private final int billCount;
+
+        private PendingPush(BillCreatedEvent latest) {
+            this(latest, 1);
+        }
+
+        private PendingPush(BillCreatedEvent latest, int billCount) {
+            this.latest = latest;
+            this.billCount = billCount;
+        }
+
+        private static PendingPush merge(PendingPush previous, PendingPush next) {
+            return new PendingPush(next.latest, previous.billCount + next.billCount);
+        }
+    }
 }
@@ -0,0 +1,327 @@
+package com.klolarion.billusserver.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.klolarion.billusserver.domain.entity.MailOutbox;
+import com.klolarion.billusserver.domain.entity.MailOutboxStatus;
+import com.klolarion.billusserver.domain.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메일 발송 대기열(outbox)
+ * 서비스는 enqueue로 호출 트랜잭션 안에서 메일을 저장만 하고, 발송은 스케줄러가 모아서 처리한다.
+ * SMTP 발송은 전용 스레드(mail-outbox-N)에서 실행되어, 다른 작업과 함께 쓰는 스케줄러 스레드를 붙잡지 않는다.
+ * 롤백된 요청의 메일은 발송되지 않고, SMTP 지연/장애가 요청 응답 시간에 영향을 주지 않는다.
+ * 한 번의 발송 주기에서 꺼낸 메일은 하나의 SMTP 연결로 보낸다. (JavaMailSender.send(MimeMessage...))
+ * 꺼낸 행은 lease 시간 동안 다음 발송 시각을 미뤄 두므로, 여러 인스턴스가 같은 메일을 중복 발송하지 않는다.
+ * 수신자별 발송 제한은 인스턴스 단위로 적용된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+    private static final String CLAIM_SQL = "SELECT mail_outbox_id, recipient, subject, body, is_html, attempts " +
+            "FROM mail_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+            "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String LEASE_SQL = "UPDATE mail_outbox SET next_attempt_at = ? WHERE mail_outbox_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM mail_outbox WHERE mail_outbox_id = ?";
+    private static final String RETRY_SQL = "UPDATE mail_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? " +
+            "WHERE mail_outbox_id = ?";
+    private static final String FAIL_SQL = "UPDATE mail_outbox SET status = 'FAILED', attempts = ?, body = NULL, last_error = ? " +
+            "WHERE mail_outbox_id = ?";
+    private static final String PENDING_SQL = "SELECT COUNT(*) FROM mail_outbox WHERE status = 'PENDING'";
+    private static final int ERROR_MAX_LENGTH = 500;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${billus.mail.batch-size}")
+    private int batchSize;
+
+    @Value("${billus.mail.lease-ms}")
+    private long leaseMs;
+
+    @Value("${billus.mail.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${billus.mail.backoff-ms}")
+    private long backoffMs;
+
+    @Value("${billus.mail.per-recipient-limit}")
+    private int perRecipientLimit;
+
+    @Value("${billus.mail.per-recipient-window-minutes}")
+    private long perRecipientWindowMinutes;
+
+    private final AtomicLong pending = new AtomicLong();
+    private ThreadPoolExecutor executor;
+    private Cache<String, AtomicInteger> recipientWindows;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Counter deferredCounter;
+    private Timer sendTimer;
+
+    @PostConstruct
+    public void init() {
+        // 발송 스레드 1개, 대기열 없음 (발송 중이면 이번 주기는 건너뜀)
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-outbox-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        recipientWindows = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(perRecipientWindowMinutes))
+                .build();
+        meterRegistry.gauge("billus.mail.pending", pending);
+        sentCounter = meterRegistry.counter("billus.mail.sent");
+        retriedCounter = meterRegistry.counter("billus.mail.retried");
+        failedCounter = meterRegistry.counter("billus.mail.failed");
+        deferredCounter = meterRegistry.counter("billus.mail.deferred");
+        sendTimer = meterRegistry.timer("billus.mail.send");
+    }
+
+    /**
+     * 진행 중인 발송을 기다린 뒤 종료 (끝내지 못한 메일은 lease가 지나면 다시 꺼내진다)
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+            log.warn("메일 발송 스레드 종료 대기 시간 초과");
+        }
+    }
+
+    /**
+     * 메일 발송 예약
+     * 호출한 트랜잭션에 참여하므로 커밋된 경우에만 발송된다.
+     * @param to 받는 사람 이메일
+     * @param subject 제목
+     * @param text 내용
+     * @param useHtml HTML 메일 여부
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String text, boolean useHtml) {
+        mailOutboxRepository.save(MailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(text)
+                .isHtml(useHtml ? "T" : "F")
+                .status(MailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * 발송 스레드에 대기열 처리를 넘기고 바로 반환
+     * 이전 주기의 발송이 아직 진행 중이면 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${billus.mail.dispatch-interval-ms}")
+    public void dispatch() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            log.debug("이전 메일 발송이 진행 중이므로 이번 주기는 건너뜀");
+        }
+    }
+
+    /**
+     * 발송 시각이 된 메일을 batch-size 단위로 꺼내 발송
+     * 꺼낸 건수가 batch-size와 같으면 대기열이 빌 때까지 이어서 발송한다.
+     */
+    void drain() {
+        try {
+            List<OutboxMail> claimed;
+            do {
+                claimed = claim();
+                if (!claimed.isEmpty()) {
+                    deliver(claimed);
+                }
+            } while (claimed.size() == batchSize);
+            Long count = jdbcTemplate.queryForObject(PENDING_SQL, Long.class);
+            pending.set(count == null ? 0 : count);
+        } catch (Exception e) {
+            log.error("메일 대기열 처리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 발송할 메일을 잠그고 lease 시간만큼 다음 발송 시각을 미룬 뒤 커밋
+     * 다른 인스턴스가 잠근 행은 건너뛴다. (SKIP LOCKED, MariaDB 10.6 이상)
+     */
+    private List<OutboxMail> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMail> claimed = transactionTemplate.execute(status -> {
+            List<OutboxMail> rows = jdbcTemplate.query(CLAIM_SQL,
+                    (rs, rowNum) -> new OutboxMail(
+                            rs.getLong("mail_outbox_id"),
+                            rs.getString("recipient"),
+                            rs.getString("subject"),
+                            rs.getString("body"),
+                            "T".equals(rs.getString("is_html")),
+                            rs.getInt("attempts")),
+                    Timestamp.valueOf(now), batchSize);
+            Timestamp leaseUntil = Timestamp.valueOf(now.plusNanos(leaseMs * 1_000_000));
+            jdbcTemplate.batchUpdate(LEASE_SQL, rows.stream()
+                    .map(row -> new Object[]{leaseUntil, row.getId()})
+                    .toList());
+            return rows;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void deliver(List<OutboxMail> mails) {
+        List<Object[]> sent = new ArrayList<>();
+        Map<OutboxMail, String> failures = new LinkedHashMap<>();
+        Map<OutboxMail, String> rejected = new LinkedHashMap<>();
+        List<Object[]> deferred = new ArrayList<>();
+        Timestamp deferUntil = Timestamp.valueOf(LocalDateTime.now().plusMinutes(perRecipientWindowMinutes));
+
+        Map<MimeMessage, OutboxMail> messages = new LinkedHashMap<>();
+        for (OutboxMail mail : mails) {
+            AtomicInteger window = recipientWindows.get(mail.getRecipient(), key -> new AtomicInteger());
+            if (window.incrementAndGet() > perRecipientLimit) {
+                deferred.add(new Object[]{deferUntil, mail.getId()});
+                continue;
+            }
+            try {
+                messages.put(toMessage(mail), mail);
+            } catch (MessagingException e) {
+                rejected.put(mail, e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Map<Object, Exception> failedMessages = Map.of();
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failedMessages = e.getFailedMessages();
+                if (failedMessages.isEmpty()) {
+                    failedMessages = allFailed(messages.keySet(), e);
+                }
+            } catch (MailException e) {
+                failedMessages = allFailed(messages.keySet(), e);
+            } finally {
+                sample.stop(sendTimer);
+            }
+            for (Map.Entry<MimeMessage, OutboxMail> entry : messages.entrySet()) {
+                Exception error = failedMessages.get(entry.getKey());
+                if (error == null) {
+                    sent.add(new Object[]{entry.getValue().getId()});
+                } else {
+                    failures.put(entry.getValue(), error.getMessage());
+                }
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, sent);
+            sentCounter.increment(sent.size());
+        }
+        if (!deferred.isEmpty()) {
+            jdbcTemplate.batchUpdate(LEASE_SQL, deferred);
+            deferredCounter.increment(deferred.size());
+            log.warn("수신자별 발송 제한으로 메일 {}건 지연", deferred.size());
+        }
+        failures.forEach(this::retryOrFail);
+        rejected.forEach((mail, error) -> fail(mail, mail.getAttempts() + 1, error));
+    }
+
+    private MimeMessage toMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper messageHelper = new MimeMessageHelper(message, true, "UTF-8");
+        messageHelper.setTo(mail.getRecipient());
+        messageHelper.setSubject(mail.getSubject());
+        messageHelper.setText(mail.getBody(), mail.isHtml());
+        return message;
+    }
+
+    private Map<Object, Exception> allFailed(Collection<MimeMessage> messages, Exception error) {
+        Map<Object, Exception> failed = new HashMap<>();
+        messages.forEach(message -> failed.put(message, error));
+        return failed;
+    }
+
+    /**
+     * 지수 백오프로 재시도를 예약하고, max-attempts에 도달하면 실패로 확정
+     */
+    private void retryOrFail(OutboxMail mail, String error) {
+        int attempts = mail.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            fail(mail, attempts, error);
+            return;
+        }
+        long delayMs = backoffMs << Math.min(attempts - 1, 16);
+        jdbcTemplate.update(RETRY_SQL, attempts,
+                Timestamp.valueOf(LocalDateTime.now().plusNanos(delayMs * 1_000_000)),
+                truncate(error), mail.getId());
+        retriedCounter.increment();
+        log.warn("메일 발송 실패, 재시도 예약: id={}, attempts={}, error={}", mail.getId(), attempts, error);
+    }
+
+    private void fail(OutboxMail mail, int attempts, String error) {
+        jdbcTemplate.update(FAIL_SQL, attempts, truncate(error), mail.getId());
+        failedCounter.increment();
+        log.error("메일 발송 실패 확정: id={}, attempts={}, error={}", mail.getId(), attempts, error);
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > ERROR_MAX_LENGTH ? error.substring(0, ERROR_MAX_LENGTH) : error;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class OutboxMail {
+        private final long id;
+        private final String recipient;
+        private final String subject;
+        private final String body;
+        private final boolean html;
+        private final int attempts;
+    }
+}
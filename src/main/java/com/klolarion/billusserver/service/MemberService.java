@@ -8,6 +8,7 @@ import com.klolarion.billusserver.domain.entity.Store;
 import com.klolarion.billusserver.dto.*;
 import com.klolarion.billusserver.dto.member.MemberResponseDto;
 import com.klolarion.billusserver.dto.store.StoreResponseDto;
+import com.klolarion.billusserver.dto.store.StoreSnapshot;
 import com.klolarion.billusserver.exception.r400.BadRequestException;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MemberService {
     private final JPAQueryFactory query;
+    private final StoreSnapshotCache storeSnapshotCache;
     private static final QApply qApply = QApply.apply;
     private static final QStore qStore = QStore.store;
 
@@ -96,9 +98,7 @@ public class MemberService {
             throw new BadRequestException("매장 식별자 누락. QR코드를 다시 인식하세요.");
         }
 
-        Store store = query.selectFrom(qStore)
-                .where(qStore.id.eq(UUID.fromString(requestDto.getId())))
-                .fetchOne();
+        StoreSnapshot store = storeSnapshotCache.get(UUID.fromString(requestDto.getId()));
 
         if (store == null) {
             throw new BadRequestException("매장을 찾을 수 없습니다.");
@@ -0,0 +1,362 @@
+package com.klolarion.billusserver.service;
+
+import com.klolarion.billusserver.domain.entity.QBill;
+import com.klolarion.billusserver.domain.event.BillCreatedEvent;
+import com.klolarion.billusserver.dto.store.StoreDayTotalDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.klolarion.billusserver.util.constants.Formatter.DATE_FORMATTER;
+import static com.klolarion.billusserver.util.constants.RedisKey.STORE_DAY_PREFIX;
+
+/**
+ * 매장 일별 식수/매출 실시간 누계 (Redis hash: count, total)
+ * 장부 등록 커밋 후 HINCRBY로 누계를 올리고, 조회 시 키가 없으면 bill 테이블에서 읽어 채웁니다.
+ * 누계는 키가 있을 때만 증가시키므로 일부 등록분만 담긴 키가 생기지 않습니다.
+ * 채울 때는 bill 테이블을 읽기 전에 채우는 중(seeding) 키를 먼저 만들어, 읽는 동안 커밋된 장부의 증가분도 키에 쌓이게 합니다.
+ * 채우는 중에 증가한 장부는 ID를 함께 기록해 두고, bill 테이블에서 읽은 장부 중 기록되지 않은 장부만 더하므로
+ * 누락도 중복도 없습니다. 채우는 중인 키는 조회 시 없는 것으로 취급합니다.
+ * 주기적으로 오늘 누계를 bill 테이블과 비교해 연속 2회 불일치한 매장의 값을 다시 채웁니다.
+ * Redis 장애 시에는 bill 테이블 집계로 응답합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StoreDayCounterService {
+    private static final String COUNT = "count";
+    private static final String TOTAL = "total";
+    private static final String SEEDING = "seeding";
+    // 채우는 중인 키가 남아 있는 최대 시간 (채우던 인스턴스가 중단된 경우 다음 조회에서 다시 채움)
+    private static final long SEEDING_TTL_SECONDS = 60;
+
+    // 키가 있을 때만 증가 (채우는 중이면 ARGV[3..]의 장부 ID를 기록)
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "redis.call('HINCRBY', KEYS[1], 'count', ARGV[1]) " +
+            "redis.call('HINCRBY', KEYS[1], 'total', ARGV[2]) " +
+            "if redis.call('HEXISTS', KEYS[1], 'seeding') == 1 then " +
+            "for i = 3, #ARGV do redis.call('HSET', KEYS[1], 'b:' .. ARGV[i], '1') end end " +
+            "return 1 end " +
+            "return 0", Long.class);
+
+    // 키가 없을 때만 채우는 중 키 생성 (bill 테이블을 읽기 전에 호출)
+    private static final RedisScript<Long> BEGIN_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "redis.call('HSET', KEYS[1], 'count', 0, 'total', 0, 'seeding', 1) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1 end " +
+            "return 0", Long.class);
+
+    // 채우는 중 키에 증가분이 기록되지 않은 장부(ARGV[2..]: ID, 식수, 금액)만 더하고 완료 처리
+    private static final RedisScript<Long> FINISH_SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'seeding') == 0 then return 0 end " +
+            "local count, total = 0, 0 " +
+            "for i = 2, #ARGV, 3 do " +
+            "if redis.call('HEXISTS', KEYS[1], 'b:' .. ARGV[i]) == 0 then " +
+            "count = count + tonumber(ARGV[i + 1]) total = total + tonumber(ARGV[i + 2]) end end " +
+            "redis.call('HINCRBY', KEYS[1], 'count', count) " +
+            "redis.call('HINCRBY', KEYS[1], 'total', total) " +
+            "for _, field in ipairs(redis.call('HKEYS', KEYS[1])) do " +
+            "if string.sub(field, 1, 2) == 'b:' then redis.call('HDEL', KEYS[1], field) end end " +
+            "redis.call('HDEL', KEYS[1], 'seeding') " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "return 1", Long.class);
+
+    // 검증 작업에서 누계를 덮어씀 (채우는 중인 키는 건드리지 않음)
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], 'seeding') == 1 then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'count', ARGV[1], 'total', ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JPAQueryFactory query;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${billus.counter.ttl-hours}")
+    private long ttlHours;
+
+    // 이전 검증에서 불일치한 키 -> Redis 값과 DB 값의 차이
+    private final Map<String, String> suspects = new ConcurrentHashMap<>();
+    private Counter driftCounter;
+    private Counter fallbackCounter;
+    private TransactionTemplate freshReadTemplate;
+
+    @PostConstruct
+    public void init() {
+        driftCounter = meterRegistry.counter("billus.counter.drift");
+        fallbackCounter = meterRegistry.counter("billus.counter.fallback");
+        // 호출 트랜잭션의 스냅샷은 채우는 중 키보다 먼저 만들어졌을 수 있으므로 새 트랜잭션에서 읽음
+        freshReadTemplate = new TransactionTemplate(transactionManager);
+        freshReadTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        freshReadTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 장부 등록 커밋 후 매장 일별 누계를 증가시킵니다.
+     * @param event 장부 등록 이벤트
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBillCreated(BillCreatedEvent event) {
+        try {
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(event.getQuantity()));
+            args.add(String.valueOf(event.getAmount()));
+            event.getBillIds().forEach(billId -> args.add(String.valueOf(billId)));
+            redisTemplate.execute(INCREMENT_SCRIPT, List.of(key(event.getStoreId(), event.getBillDate())),
+                    args.toArray());
+        } catch (DataAccessException e) {
+            // 누계는 검증 작업이나 다음 조회 시 bill 테이블에서 다시 채워짐
+            log.warn("StoreDayCounter::increment failed store={} date={} : {}",
+                    event.getStoreId(), event.getBillDate(), e.getMessage());
+        }
+    }
+
+    /**
+     * 매장 일별 누계 조회
+     * @param storeId 매장 ID
+     * @param date 날짜
+     * @return 식수/매출 누계
+     */
+    public StoreDayTotalDto get(UUID storeId, LocalDate date) {
+        return getAll(List.of(storeId), date).getOrDefault(storeId, StoreDayTotalDto.empty());
+    }
+
+    /**
+     * 여러 매장의 일별 누계를 한 번에 조회합니다. (Redis 파이프라인 1회 + 없는 매장만 DB 집계 1회)
+     * @param storeIds 매장 ID 목록
+     * @param date 날짜
+     * @return 매장 ID별 식수/매출 누계 (모든 매장 포함)
+     */
+    public Map<UUID, StoreDayTotalDto> getAll(Collection<UUID> storeIds, LocalDate date) {
+        List<UUID> ids = new ArrayList<>(new HashSet<>(storeIds));
+        try {
+            Map<UUID, StoreDayTotalDto> totals = new HashMap<>();
+            List<StoreDayTotalDto> cached = readCached(ids, date);
+            List<UUID> missing = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (cached.get(i) == null) {
+                    missing.add(ids.get(i));
+                } else {
+                    totals.put(ids.get(i), cached.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                // 채우는 중 키를 먼저 만든 뒤 bill 테이블을 읽어야 그 사이 커밋된 장부가 빠지지 않음
+                List<UUID> seeding = new ArrayList<>();
+                for (UUID storeId : missing) {
+                    Long begun = redisTemplate.execute(BEGIN_SEED_SCRIPT, List.of(key(storeId, date)),
+                            String.valueOf(SEEDING_TTL_SECONDS));
+                    if (begun != null && begun == 1) {
+                        seeding.add(storeId);
+                    }
+                }
+                Map<UUID, List<BillAmount>> bills = freshReadTemplate.execute(status -> loadBills(missing, date));
+                for (UUID storeId : missing) {
+                    List<BillAmount> storeBills = bills.getOrDefault(storeId, List.of());
+                    if (seeding.contains(storeId)) {
+                        finishSeed(storeId, date, storeBills);
+                    }
+                    totals.put(storeId, sum(storeBills));
+                }
+            }
+            return totals;
+        } catch (DataAccessException e) {
+            log.warn("StoreDayCounter::redis unavailable, reading bill table : {}", e.getMessage());
+            fallbackCounter.increment();
+            return loadFromBills(ids, date);
+        }
+    }
+
+    /**
+     * 오늘 누계를 bill 테이블과 비교합니다.
+     * 등록 직후에는 커밋과 증가 사이의 시차로 잠깐 다를 수 있으므로, 같은 차이가 연속 2회 나온 매장만 다시 채웁니다.
+     * Redis에 키가 없는 매장은 다음 조회 시 채워지므로 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${billus.counter.reconcile-interval-ms}")
+    public void reconcileToday() {
+        LocalDate today = LocalDate.now();
+        QBill qBill = QBill.bill;
+        try {
+            List<UUID> storeIds = query.select(qBill.store.id)
+                    .distinct()
+                    .from(qBill)
+                    .where(qBill.billDate.eq(today))
+                    .fetch();
+            if (storeIds.isEmpty()) {
+                suspects.clear();
+                return;
+            }
+            List<StoreDayTotalDto> cached = readCached(storeIds, today);
+            Map<UUID, StoreDayTotalDto> actual = loadFromBills(storeIds, today);
+
+            Set<String> seen = new HashSet<>();
+            int corrected = 0;
+            for (int i = 0; i < storeIds.size(); i++) {
+                UUID storeId = storeIds.get(i);
+                StoreDayTotalDto redisTotal = cached.get(i);
+                StoreDayTotalDto dbTotal = actual.getOrDefault(storeId, StoreDayTotalDto.empty());
+                if (redisTotal == null || redisTotal.equals(dbTotal)) {
+                    continue;
+                }
+                String key = key(storeId, today);
+                String diff = (redisTotal.getCount() - dbTotal.getCount()) + "/" + (redisTotal.getTotal() - dbTotal.getTotal());
+                seen.add(key);
+                if (diff.equals(suspects.get(key))) {
+                    log.warn("StoreDayCounter::drift store={} date={} redis={}/{} db={}/{}", storeId, today,
+                            redisTotal.getCount(), redisTotal.getTotal(), dbTotal.getCount(), dbTotal.getTotal());
+                    seed(storeId, today, dbTotal);
+                    driftCounter.increment();
+                    seen.remove(key);
+                    corrected++;
+                } else {
+                    suspects.put(key, diff);
+                }
+            }
+            suspects.keySet().retainAll(seen);
+            if (corrected > 0) {
+                log.warn("StoreDayCounter::{} store(s) corrected for {}", corrected, today);
+            }
+        } catch (DataAccessException e) {
+            log.warn("StoreDayCounter::reconcile skipped : {}", e.getMessage());
+        }
+    }
+
+    private List<StoreDayTotalDto> readCached(List<UUID> storeIds, LocalDate date) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (UUID storeId : storeIds) {
+                stringConnection.hMGet(key(storeId, date), COUNT, TOTAL, SEEDING);
+            }
+            return null;
+        });
+
+        List<StoreDayTotalDto> totals = new ArrayList<>(storeIds.size());
+        for (Object result : results) {
+            List<?> values = (List<?>) result;
+            // 없거나 채우는 중인 키는 없는 것으로 취급
+            if (values == null || values.get(0) == null || values.get(1) == null || values.get(2) != null) {
+                totals.add(null);
+            } else {
+                totals.add(new StoreDayTotalDto(Long.parseLong(values.get(0).toString()),
+                        Long.parseLong(values.get(1).toString())));
+            }
+        }
+        return totals;
+    }
+
+    private Map<UUID, StoreDayTotalDto> loadFromBills(Collection<UUID> storeIds, LocalDate date) {
+        QBill qBill = QBill.bill;
+        NumberExpression<Long> quantitySum = qBill.quantity.sum().longValue();
+        NumberExpression<Long> amountSum = qBill.amount.sum();
+
+        Map<UUID, StoreDayTotalDto> totals = new HashMap<>();
+        storeIds.forEach(storeId -> totals.put(storeId, StoreDayTotalDto.empty()));
+        List<Tuple> list = query.select(qBill.store.id, quantitySum, amountSum)
+                .from(qBill)
+                .where(qBill.billDate.eq(date)
+                        .and(qBill.store.id.in(storeIds)))
+                .groupBy(qBill.store.id)
+                .fetch();
+        for (Tuple tuple : list) {
+            Long count = tuple.get(quantitySum);
+            Long total = tuple.get(amountSum);
+            totals.put(tuple.get(qBill.store.id),
+                    new StoreDayTotalDto(count == null ? 0 : count, total == null ? 0 : total));
+        }
+        return totals;
+    }
+
+    /**
+     * 매장별 장부 ID/식수/금액 조회 (채우기 완료 시 채우는 중에 증가분이 기록된 장부를 제외하기 위함)
+     */
+    private Map<UUID, List<BillAmount>> loadBills(Collection<UUID> storeIds, LocalDate date) {
+        QBill qBill = QBill.bill;
+        Map<UUID, List<BillAmount>> bills = new HashMap<>();
+        List<Tuple> list = query.select(qBill.store.id, qBill.id, qBill.quantity, qBill.amount)
+                .from(qBill)
+                .where(qBill.billDate.eq(date)
+                        .and(qBill.store.id.in(storeIds)))
+                .fetch();
+        for (Tuple tuple : list) {
+            Integer quantity = tuple.get(qBill.quantity);
+            Long amount = tuple.get(qBill.amount);
+            bills.computeIfAbsent(tuple.get(qBill.store.id), storeId -> new ArrayList<>())
+                    .add(new BillAmount(tuple.get(qBill.id), quantity == null ? 0 : quantity, amount == null ? 0 : amount));
+        }
+        return bills;
+    }
+
+    private void finishSeed(UUID storeId, LocalDate date, List<BillAmount> bills) {
+        List<String> args = new ArrayList<>(bills.size() * 3 + 1);
+        args.add(String.valueOf(ttlHours * 3600));
+        for (BillAmount bill : bills) {
+            args.add(String.valueOf(bill.getId()));
+            args.add(String.valueOf(bill.getQuantity()));
+            args.add(String.valueOf(bill.getAmount()));
+        }
+        redisTemplate.execute(FINISH_SEED_SCRIPT, List.of(key(storeId, date)), args.toArray());
+    }
+
+    private StoreDayTotalDto sum(List<BillAmount> bills) {
+        long count = 0;
+        long total = 0;
+        for (BillAmount bill : bills) {
+            count += bill.getQuantity();
+            total += bill.getAmount();
+        }
+        return new StoreDayTotalDto(count, total);
+    }
+
+    private void seed(UUID storeId, LocalDate date, StoreDayTotalDto total) {
+        redisTemplate.execute(SEED_SCRIPT, List.of(key(storeId, date)),
+                String.valueOf(total.getCount()), String.valueOf(total.getTotal()),
+                String.valueOf(ttlHours * 3600));
+    }
+
+    private String key(UUID storeId, LocalDate date) {
+        return STORE_DAY_PREFIX + storeId + ":" + date.format(DATE_FORMATTER);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class BillAmount {
+        private final Long id;
+        private final long quantity;
+        private final long amount;
+    }
+}
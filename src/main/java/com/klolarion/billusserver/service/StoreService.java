@@ -3,28 +3,35 @@ package com.klolarion.billusserver.service;
 import com.klolarion.billusserver.domain.*;
 import com.klolarion.billusserver.domain.entity.*;
 import com.klolarion.billusserver.dto.*;
+import com.klolarion.billusserver.dto.store.StoreDayTotalDto;
 import com.klolarion.billusserver.dto.store.StoreResponseDto;
 import com.klolarion.billusserver.exception.r400.BadRequestException;
 import com.klolarion.billusserver.exception.r401.AuthFailureException;
 import com.klolarion.billusserver.exception.r404.ResourceNotFoundException;
+import com.klolarion.billusserver.security.PrincipalCache;
+import com.klolarion.billusserver.util.BillDateRange;
 import com.klolarion.billusserver.util.GenerateCodeUtil;
-import com.klolarion.billusserver.util.MailHandler;
 import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.UUID;
+
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class StoreService {
     private final JPAQueryFactory query;
-    private final JavaMailSender mailSender;
+    private final MailOutboxService mailOutboxService;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final StoreDayCounterService storeDayCounterService;
+    private final PrincipalCache principalCache;
+    private final StoreSnapshotCache storeSnapshotCache;
 
     /**
      * 전화번호 중복 확인
@@ -60,8 +67,25 @@ public class StoreService {
         return store.getEmail().equals(email) || result == null;
     }
 
+    /**
+     * 매장 목록 조회 (QR 인쇄용 시트)
+     * @param storeIds 조회할 매장 ID 목록
+     * @return 매장명 순 매장 목록
+     */
+    public List<Store> findStores(List<UUID> storeIds) {
+        if (storeIds == null || storeIds.isEmpty()) {
+            throw new BadRequestException("매장 ID가 누락되었습니다.");
+        }
+        QStore qStore = QStore.store;
+        return query.selectFrom(qStore)
+                .where(qStore.id.in(storeIds))
+                .orderBy(qStore.storeName.asc())
+                .fetch();
+    }
+
     /**
      * 가격 정보 수정
+     * 이미 등록된 장부는 등록 시점 단가/금액을 가지므로 이후 등록되는 장부부터 적용됩니다.
      * @param price 변경할 가격(문자열)
      * @param store 매장 엔티티
      */
@@ -79,6 +103,8 @@ public class StoreService {
             if (execute == 0) {
                 throw new BadRequestException("가격 수정에 실패했습니다.");
             }
+            principalCache.evict(store.getId());
+            storeSnapshotCache.evict(store.getId());
         } catch (NumberFormatException e) {
             throw new BadRequestException("올바르지 않은 가격 형식입니다.");
         }
@@ -124,20 +150,13 @@ public class StoreService {
             throw new BadRequestException("날짜가 누락되었습니다.");
         }
         QApply qApply = QApply.apply;
-        QBill qBill = QBill.bill;
         try {
             boolean isApplied = query.selectFrom(qApply)
                     .where(qApply.store.id.eq(store.getId())
                             .and(qApply.offCd.eq("F"))
                             .and(qApply.isApproved.eq("F")))
                     .fetchFirst() != null;
-            Tuple tuple = query.select(qBill.store.price.sum(), qBill.count())
-                    .from(qBill)
-                    .where(qBill.date.eq(date)
-                            .and(qBill.store.id.eq(store.getId())))
-                    .fetchOne();
-            Long count = tuple != null ? tuple.get(qBill.count()) : 0L;
-            Long totalAmount = tuple != null ? Long.valueOf(tuple.get(qBill.store.price.sum())) : 0L;
+            StoreDayTotalDto dayTotal = storeDayCounterService.get(store.getId(), BillDateRange.parseDate(date));
             return StoreResponseDto.builder()
                     .storeId(store.getId().toString())
                     .storeName(store.getStoreName())
@@ -151,8 +170,8 @@ public class StoreService {
                     .price(store.getPrice() != null ? String.valueOf(store.getPrice()) : null)
                     .offCd(store.isOff() ? "T" : "F")
                     .isApplied(isApplied ? "T" : "F")
-                    .todayCount(String.valueOf(count))
-                    .todayTotal(String.valueOf(totalAmount))
+                    .todayCount(String.valueOf(dayTotal.getCount()))
+                    .todayTotal(String.valueOf(dayTotal.getTotal()))
                     .isEmailVerified(store.isEmailVerified() ? "T" : "F")
                     .build();
         } catch (Exception e) {
@@ -226,6 +245,8 @@ public class StoreService {
         if (execute == 0) {
             throw new BadRequestException("매장 정보 수정에 실패했습니다.");
         }
+        principalCache.evict(store.getId());
+        storeSnapshotCache.evict(store.getId());
     }
 
     /**
@@ -248,6 +269,7 @@ public class StoreService {
         if (execute == 0) {
             throw new BadRequestException("비밀번호 변경에 실패했습니다.");
         }
+        principalCache.evict(store.getId());
     }
 
     /**
@@ -268,11 +290,6 @@ public class StoreService {
         }
         try {
             String randomPassword = GenerateCodeUtil.generateRandomPassword();
-            MailHandler mailHandler = new MailHandler(mailSender);
-            mailHandler.setTo(store.getEmail());
-            mailHandler.setSubject("Bill-us 비밀번호 초기화");
-            mailHandler.setText("초기화된 비밀번호 : " + randomPassword, false);
-            mailHandler.send();
             long execute = query.update(qStore)
                     .set(qStore.password, passwordEncoder.encode(randomPassword))
                     .where(qStore.id.eq(store.getId()))
@@ -280,6 +297,9 @@ public class StoreService {
             if (execute == 0) {
                 throw new BadRequestException("비밀번호 초기화에 실패했습니다.");
             }
+            principalCache.evict(store.getId());
+            mailOutboxService.enqueue(store.getEmail(), "Bill-us 비밀번호 초기화",
+                    "초기화된 비밀번호 : " + randomPassword, false);
         } catch (Exception e) {
             throw new BadRequestException("비밀번호 초기화 중 오류가 발생했습니다.");
         }
@@ -344,6 +364,8 @@ public class StoreService {
         if (execute == 0) {
             throw new BadRequestException("Firebase 토큰 설정에 실패했습니다.");
         }
+        principalCache.evict(store.getId());
+        storeSnapshotCache.evict(store.getId());
     }
 
     /**
@@ -359,5 +381,7 @@ public class StoreService {
         if (execute == 0) {
             throw new BadRequestException("회원 탈퇴에 실패했습니다.");
         }
+        principalCache.evict(store.getId());
+        storeSnapshotCache.evict(store.getId());
     }
 }
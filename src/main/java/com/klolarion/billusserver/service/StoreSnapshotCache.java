@@ -0,0 +1,114 @@
+package com.klolarion.billusserver.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.klolarion.billusserver.domain.entity.QStore;
+import com.klolarion.billusserver.dto.store.StoreSnapshot;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 매장 스냅샷(StoreSnapshot) read-through 캐시
+ * 직원 QR 인식 → 가격 조회(MemberService.getStorePrice) → 장부 등록(BillService.newBill) → FCM 알림 경로가
+ * 요청마다 같은 매장을 다시 조회하지 않도록 매장 ID 단위로 보관합니다.
+ * 크기(billus.store-cache.max-size)와 TTL(ttl-seconds)로 만료되며,
+ * 가격/매장명/활성 여부/FCM 토큰이 바뀌는 서비스(가격 변경, 정보 수정, FCM 등록, 탈퇴, 비활성화)에서 evict를 호출해야 합니다.
+ * 히트/미스는 billus.store 캐시 메트릭으로 노출됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoreSnapshotCache {
+    private final JPAQueryFactory query;
+    private final MeterRegistry meterRegistry;
+    private final QStore qStore = QStore.store;
+
+    @Value("${billus.store-cache.max-size}")
+    private long maxSize;
+
+    @Value("${billus.store-cache.ttl-seconds}")
+    private long ttlSeconds;
+
+    private Cache<UUID, StoreSnapshot> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "billus.store");
+    }
+
+    /**
+     * 캐시된 매장 스냅샷을 반환하고, 없으면 조회해 보관합니다.
+     * @param storeId 매장 ID
+     * @return 매장 스냅샷 (존재하지 않는 매장이면 null, 보관하지 않음)
+     */
+    public StoreSnapshot get(UUID storeId) {
+        return cache.get(storeId, id -> load(Set.of(id)).get(id));
+    }
+
+    /**
+     * 여러 매장의 스냅샷을 반환합니다. 캐시에 없는 매장은 한 번의 IN 쿼리로 조회해 보관합니다.
+     * @param storeIds 매장 ID 목록
+     * @return 매장 ID별 스냅샷 (존재하지 않는 매장은 제외)
+     */
+    public Map<UUID, StoreSnapshot> getAll(Collection<UUID> storeIds) {
+        return cache.getAll(storeIds, this::load);
+    }
+
+    /**
+     * 해당 매장의 스냅샷을 제거합니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후 한 번 더 제거해 커밋 전 다시 적재된 값도 지웁니다.
+     * @param storeId 매장 ID
+     */
+    public void evict(UUID storeId) {
+        cache.invalidate(storeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(storeId);
+                }
+            });
+        }
+        log.debug("StoreSnapshotCache::evict id={}", storeId);
+    }
+
+    private Map<UUID, StoreSnapshot> load(Set<? extends UUID> storeIds) {
+        List<Tuple> list = query.select(qStore.id, qStore.storeName, qStore.price, qStore.isEnabled, qStore.firebaseToken)
+                .from(qStore)
+                .where(qStore.id.in(storeIds))
+                .fetch();
+        Map<UUID, StoreSnapshot> snapshots = new HashMap<>();
+        for (Tuple tuple : list) {
+            UUID id = tuple.get(qStore.id);
+            snapshots.put(id, new StoreSnapshot(
+                    id,
+                    tuple.get(qStore.storeName),
+                    tuple.get(qStore.price),
+                    tuple.get(qStore.isEnabled),
+                    tuple.get(qStore.firebaseToken)));
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,81 @@
+package com.klolarion.billusserver.util;
+
+import com.klolarion.billusserver.exception.r400.BadRequestException;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DatePath;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static com.klolarion.billusserver.util.constants.Formatter.DATE_FORMATTER;
+
+/**
+ * 장부 날짜 조회 구간 [start, end)
+ * API의 YYYYMMDD/YYYYMM/YYYY 문자열을 반열림 구간으로 변환해 bill_date 인덱스를 타도록 한다.
+ */
+@Getter
+public class BillDateRange {
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final LocalDate start;
+    private final LocalDate end;
+
+    private BillDateRange(LocalDate start, LocalDate end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param date YYYYMMDD 형식 날짜
+     */
+    public static BillDateRange ofDay(String date) {
+        LocalDate day = parseDate(date);
+        return new BillDateRange(day, day.plusDays(1));
+    }
+
+    /**
+     * @param month YYYYMM 형식 월
+     */
+    public static BillDateRange ofMonth(String month) {
+        try {
+            YearMonth yearMonth = YearMonth.parse(month, MONTH_FORMATTER);
+            return new BillDateRange(yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new BadRequestException("월 형식이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * @param year YYYY 형식 연도
+     */
+    public static BillDateRange ofYear(String year) {
+        try {
+            Year y = Year.parse(year);
+            return new BillDateRange(y.atDay(1), y.plusYears(1).atDay(1));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new BadRequestException("연도 형식이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * YYYYMMDD 형식 문자열을 LocalDate로 변환
+     */
+    public static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date, DATE_FORMATTER);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new BadRequestException("날짜 형식이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * start <= path < end 조건 생성
+     */
+    public BooleanExpression on(DatePath<LocalDate> path) {
+        return path.goe(start).and(path.lt(end));
+    }
+}
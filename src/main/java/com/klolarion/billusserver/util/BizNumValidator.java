@@ -2,29 +2,88 @@ package com.klolarion.billusserver.util;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.klolarion.billusserver.util.constants.RedisKey.BIZNUM_STATUS_PREFIX;
+
+/**
+ * 사업자번호 유효성 검증 (국세청 사업자 상태 조회 API)
+ * 조회 결과는 Redis에 보관하며, 계속사업자는 billus.biznum.positive-ttl-hours, 그 외(휴업/폐업/미등록)는
+ * negative-ttl-minutes 동안 재사용합니다. API 오류는 보관하지 않습니다.
+ * 캐시에 없는 번호는 batch-window-ms 동안 모아 한 번의 API 호출(최대 100건)로 조회합니다.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class BizNumValidator {
-    private final RestTemplate restTemplate;
+    private final RestTemplate dataOrgRestTemplate;
     private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
 
     @Value("${data-org-api-key}")
     private String DATA_ORG_API_KEY;
     // 국세청 사업자 등록 상태 조회 API URL
     private final String BIZNUM_API_URL = "https://api.odcloud.kr/api/nts-businessman/v1/status?serviceKey=";
+    private static final String ACTIVE_STATUS = "계속사업자";
+    // 국세청에 등록되지 않은 번호 (응답 b_stt 빈 값)
+    private static final String UNREGISTERED_STATUS = "미등록";
+    // API 1회 조회 가능 최대 건수
+    private static final int API_MAX_BATCH_SIZE = 100;
+
+    @Value("${billus.biznum.positive-ttl-hours}")
+    private long positiveTtlHours;
+
+    @Value("${billus.biznum.negative-ttl-minutes}")
+    private long negativeTtlMinutes;
+
+    @Value("${billus.biznum.batch-window-ms}")
+    private long batchWindowMs;
+
+    @Value("${billus.biznum.batch-timeout-ms}")
+    private long batchTimeoutMs;
 
+    private final Object batchLock = new Object();
+    private Map<String, CompletableFuture<String>> batch = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "biznum-batch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
 
     /**
      * 사업자번호 유효성 검증
@@ -36,56 +95,150 @@ public class BizNumValidator {
             throw new IllegalArgumentException("유효하지 않은 사업자번호입니다.");
         }
 
+        String status = findStatus(bizNum);
+        if (!ACTIVE_STATUS.equals(status)) {
+            throw new IllegalArgumentException("등록되지 않은 사업자번호입니다.");
+        }
+    }
+
+    /**
+     * HTTP 요청/응답을 통한 사업자번호 검증
+     * @param request HTTP 요청
+     * @param response HTTP 응답
+     * @param bizNum 검증할 사업자번호
+     */
+    public void validateBizNum(HttpServletRequest request, HttpServletResponse response, String bizNum) {
+        validateBizNum(bizNum);
+    }
+
+    /**
+     * 사업자 상태 조회 (Redis 캐시 -> 묶음 API 조회)
+     */
+    private String findStatus(String bizNum) {
+        String cached = getCachedStatus(bizNum);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            return enqueue(bizNum).get(batchWindowMs + batchTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException("사업자번호 검증 중 오류가 발생했습니다.");
+        } catch (Exception e) {
+            log.warn("BizNum::status lookup failed : {}", e.getMessage());
+            throw new IllegalArgumentException("사업자번호 검증 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 조회 대기열에 추가합니다. 같은 번호는 대기 중인 조회를 공유합니다.
+     * 첫 건이 들어오면 batchWindowMs 뒤 전송을 예약하고, 최대 건수에 도달하면 즉시 전송합니다.
+     */
+    private CompletableFuture<String> enqueue(String bizNum) {
+        synchronized (batchLock) {
+            CompletableFuture<String> future = batch.get(bizNum);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            batch.put(bizNum, future);
+            if (batch.size() >= API_MAX_BATCH_SIZE) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                Map<String, CompletableFuture<String>> full = drain();
+                scheduler.execute(() -> send(full));
+            } else if (batch.size() == 1) {
+                scheduledFlush = scheduler.schedule(() -> send(drain()), batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+            return future;
+        }
+    }
+
+    private Map<String, CompletableFuture<String>> drain() {
+        synchronized (batchLock) {
+            Map<String, CompletableFuture<String>> drained = batch;
+            batch = new LinkedHashMap<>();
+            scheduledFlush = null;
+            return drained;
+        }
+    }
+
+    /**
+     * 모인 번호를 한 번에 조회하고 결과를 캐시에 저장합니다.
+     */
+    private void send(Map<String, CompletableFuture<String>> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> statuses = requestStatuses(new ArrayList<>(pending.keySet()));
+            pending.forEach((bizNum, future) -> {
+                String status = statuses.getOrDefault(bizNum, UNREGISTERED_STATUS);
+                cacheStatus(bizNum, status);
+                future.complete(status);
+            });
+        } catch (Exception e) {
+            pending.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private Map<String, String> requestStatuses(List<String> bizNums) throws Exception {
         // 요청 헤더 설정 (Content-Type JSON)
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
         // 요청 Body 설정 (사업자 등록번호 리스트)
         Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("b_no", Collections.singletonList(bizNum));
+        requestBody.put("b_no", bizNums);
 
         // 요청 객체 생성
         HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
 
+        // API 요청 보내기 (POST)
+        ResponseEntity<String> bizNumResponse = dataOrgRestTemplate.exchange(
+                BIZNUM_API_URL + DATA_ORG_API_KEY,
+                HttpMethod.POST,
+                requestEntity,
+                String.class
+        );
+
+        // 응답값 확인
+        if (bizNumResponse.getStatusCode() != HttpStatus.OK) {
+            throw new IllegalStateException("status " + bizNumResponse.getStatusCode());
+        }
+
+        // JSON 응답 파싱 - data[].b_no, data[].b_stt
+        JsonNode dataNode = objectMapper.readTree(bizNumResponse.getBody()).path("data");
+        if (!dataNode.isArray()) {
+            throw new IllegalStateException("data 없음");
+        }
+        Map<String, String> statuses = new HashMap<>();
+        for (JsonNode node : dataNode) {
+            String status = node.path("b_stt").asText();
+            statuses.put(node.path("b_no").asText(), status.isBlank() ? UNREGISTERED_STATUS : status);
+        }
+        return statuses;
+    }
+
+    private String getCachedStatus(String bizNum) {
         try {
-            // API 요청 보내기 (POST)
-            ResponseEntity<String> bizNumResponse = restTemplate.exchange(
-                    BIZNUM_API_URL + DATA_ORG_API_KEY,
-                    HttpMethod.POST,
-                    requestEntity,
-                    String.class
-            );
-
-            // 응답값 확인
-            if (bizNumResponse.getStatusCode() == HttpStatus.OK) {
-                // JSON 응답 파싱
-                JsonNode rootNode = objectMapper.readTree(bizNumResponse.getBody());
-
-                // "status" 값을 확인하여 사업자 등록 여부 판단
-                JsonNode dataNode = rootNode.path("data");
-                if (dataNode.isArray() && dataNode.size() > 0) {
-                    String status = dataNode.get(0).path("b_stt").asText();
-                    if (!"계속사업자".equals(status)) {
-                        throw new IllegalArgumentException("등록되지 않은 사업자번호입니다.");
-                    }
-                } else {
-                    throw new IllegalArgumentException("사업자번호 검증에 실패했습니다.");
-                }
-            } else {
-                throw new IllegalArgumentException("사업자번호 검증에 실패했습니다.");
-            }
-        } catch (Exception e) {
-            throw new IllegalArgumentException("사업자번호 검증 중 오류가 발생했습니다.");
+            return redisTemplate.opsForValue().get(BIZNUM_STATUS_PREFIX + bizNum);
+        } catch (DataAccessException e) {
+            log.warn("BizNum::cache read failed : {}", e.getMessage());
+            return null;
         }
     }
 
-    /**
-     * HTTP 요청/응답을 통한 사업자번호 검증
-     * @param request HTTP 요청
-     * @param response HTTP 응답
-     * @param bizNum 검증할 사업자번호
-     */
-    public void validateBizNum(HttpServletRequest request, HttpServletResponse response, String bizNum) {
-        validateBizNum(bizNum);
+    private void cacheStatus(String bizNum, String status) {
+        try {
+            if (ACTIVE_STATUS.equals(status)) {
+                redisTemplate.opsForValue().set(BIZNUM_STATUS_PREFIX + bizNum, status, positiveTtlHours, TimeUnit.HOURS);
+            } else {
+                redisTemplate.opsForValue().set(BIZNUM_STATUS_PREFIX + bizNum, status, negativeTtlMinutes, TimeUnit.MINUTES);
+            }
+        } catch (DataAccessException e) {
+            log.warn("BizNum::cache write failed : {}", e.getMessage());
+        }
     }
 }
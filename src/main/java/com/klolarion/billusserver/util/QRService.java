@@ -1,5 +1,7 @@
 package com.klolarion.billusserver.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.MultiFormatWriter;
@@ -8,48 +10,291 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
 import com.klolarion.billusserver.domain.entity.Store;
+import com.klolarion.billusserver.exception.r400.BadRequestException;
+import com.klolarion.billusserver.exception.r500.CodeGenerationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 매장 QR코드 생성
+ * QR 내용(매장ID + 매장명)은 거의 바뀌지 않으므로 내용/크기/형식별로 생성 결과를 캐시한다.
+ * ETag는 렌더링 없이 내용/크기/형식만으로 계산하므로, If-None-Match가 일치하면 캐시 조회 없이 304를 반환한다.
+ * 여러 매장의 QR을 한 장에 모은 인쇄용 시트(SVG)는 전용 스레드 풀에서 매장별 QR을 병렬로 생성한다.
+ */
 @Component
 @RequiredArgsConstructor
 public class QRService {
+    public static final String PNG = "png";
+    public static final String SVG = "svg";
+    public static final MediaType IMAGE_SVG = MediaType.valueOf("image/svg+xml");
+
+    private static final int MIN_SIZE = 100;
+    private static final int MAX_SIZE = 1000;
+    private static final int SHEET_COLUMNS = 3;
+    private static final int SHEET_PADDING = 20;
+    private static final int SHEET_CAPTION_HEIGHT = 40;
+    // 렌더링 방식이 바뀌면 올려서 클라이언트가 가진 이미지를 무효화
+    private static final String RENDER_VERSION = "1";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${billus.qr.cache-max-size}")
+    private long cacheMaxSize;
+
+    @Value("${billus.qr.cache-ttl-minutes}")
+    private long cacheTtlMinutes;
+
+    @Value("${billus.qr.sheet-workers}")
+    private int sheetWorkers;
+
+    @Value("${billus.qr.sheet-max-stores}")
+    private int sheetMaxStores;
+
+    private Cache<String, byte[]> cache;
+    private ExecutorService sheetExecutor;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterAccess(Duration.ofMinutes(cacheTtlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "billus.qr");
+        AtomicInteger sequence = new AtomicInteger();
+        sheetExecutor = Executors.newFixedThreadPool(sheetWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "qr-sheet-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sheetExecutor.shutdownNow();
+    }
 
     /**
      * 매장 정보를 기반으로 QR코드 이미지를 생성하여 반환합니다.
      * @param store 매장 엔티티
-     * @return QR코드 이미지(PNG) 바이너리 ResponseEntity
+     * @param size 이미지 한 변의 크기(px)
+     * @param format 이미지 형식 (png/svg)
+     * @param ifNoneMatch 클라이언트가 가진 ETag (If-None-Match 헤더)
+     * @return QR코드 이미지 바이너리 ResponseEntity (ETag 일치 시 304)
      */
-    public ResponseEntity<byte[]> publishStoreQr(Store store) {
-        String storeId = store.getId().toString();
-        String storeName = store.getStoreName();
-        int width = 300;
-        int height = 300;
-        String qrCodeData = storeId + "," + storeName;
+    public ResponseEntity<byte[]> publishStoreQr(Store store, int size, String format, String ifNoneMatch) {
+        validate(size, format);
+        String key = cacheKey(payloadOf(store), size, format);
+        String eTag = eTagOf(key);
+        if (matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(SVG.equals(format) ? IMAGE_SVG : MediaType.IMAGE_PNG)
+                .body(image(store, size, format));
+    }
 
+    /**
+     * 여러 매장의 QR코드를 한 장에 모은 인쇄용 시트(SVG)를 생성합니다.
+     * 매장별 QR은 캐시를 거쳐 병렬로 생성되며, 각 QR 아래에 매장명을 표시합니다.
+     * @param stores 대상 매장 목록
+     * @param size QR 한 변의 크기(px)
+     * @return 인쇄용 시트(SVG) ResponseEntity
+     */
+    public ResponseEntity<byte[]> publishPrintSheet(List<Store> stores, int size) {
+        validate(size, SVG);
+        if (stores.isEmpty()) {
+            throw new BadRequestException("QR을 생성할 매장이 없습니다.");
+        }
+        if (stores.size() > sheetMaxStores) {
+            throw new BadRequestException("한 번에 최대 " + sheetMaxStores + "개 매장까지 생성할 수 있습니다.");
+        }
+
+        List<CompletableFuture<byte[]>> futures = stores.stream()
+                .map(store -> CompletableFuture.supplyAsync(() -> image(store, size, SVG), sheetExecutor))
+                .toList();
+
+        int cellWidth = size + SHEET_PADDING * 2;
+        int cellHeight = size + SHEET_PADDING * 2 + SHEET_CAPTION_HEIGHT;
+        int rows = (stores.size() + SHEET_COLUMNS - 1) / SHEET_COLUMNS;
+        int width = cellWidth * Math.min(stores.size(), SHEET_COLUMNS);
+        int height = cellHeight * rows;
+
+        StringBuilder sheet = new StringBuilder()
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width)
+                .append("\" height=\"").append(height)
+                .append("\" viewBox=\"0 0 ").append(width).append(' ').append(height).append("\">")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>");
+        try {
+            for (int i = 0; i < stores.size(); i++) {
+                int x = (i % SHEET_COLUMNS) * cellWidth;
+                int y = (i / SHEET_COLUMNS) * cellHeight;
+                sheet.append("<g transform=\"translate(").append(x + SHEET_PADDING).append(',')
+                        .append(y + SHEET_PADDING).append(")\">")
+                        .append(new String(futures.get(i).join(), StandardCharsets.UTF_8))
+                        .append("</g>")
+                        .append("<text x=\"").append(x + cellWidth / 2)
+                        .append("\" y=\"").append(y + SHEET_PADDING + size + SHEET_CAPTION_HEIGHT / 2)
+                        .append("\" text-anchor=\"middle\" dominant-baseline=\"middle\" font-size=\"18\">")
+                        .append(escapeXml(stores.get(i).getStoreName()))
+                        .append("</text>");
+            }
+        } catch (Exception e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof CodeGenerationException cause) {
+                throw cause;
+            }
+            throw new CodeGenerationException("QR 시트 생성 실패: " + e.getMessage());
+        }
+        sheet.append("</svg>");
+
+        return ResponseEntity.ok()
+                .contentType(IMAGE_SVG)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("qr-sheet.svg", StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(sheet.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] image(Store store, int size, String format) {
+        String payload = payloadOf(store);
+        return cache.get(cacheKey(payload, size, format), key -> render(payload, size, format));
+    }
+
+    private byte[] render(String payload, int size, String format) {
         Map<EncodeHintType, Object> hints = new HashMap<>();
         hints.put(EncodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name());
         hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.H);
         try {
-            BitMatrix bitMatrix = new MultiFormatWriter().encode(qrCodeData, BarcodeFormat.QR_CODE, width, height, hints);
+            if (SVG.equals(format)) {
+                // 모듈 1개 = 1단위로 인코딩하고 viewBox로 확대
+                BitMatrix bitMatrix = new MultiFormatWriter().encode(payload, BarcodeFormat.QR_CODE, 0, 0, hints);
+                return toSvg(bitMatrix, size).getBytes(StandardCharsets.UTF_8);
+            }
+            BitMatrix bitMatrix = new MultiFormatWriter().encode(payload, BarcodeFormat.QR_CODE, size, size, hints);
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             MatrixToImageWriter.writeToStream(bitMatrix, "PNG", out);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_PNG)
-                    .body(out.toByteArray());
+            return out.toByteArray();
         } catch (WriterException e) {
             // QR코드 생성 실패
-            return ResponseEntity.status(500).body(("QR코드 생성 실패: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
-        } catch (Exception e) {
-            // 이미지 변환 등 기타 예외
-            return ResponseEntity.status(500).body(("이미지 변환 실패: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
+            throw new CodeGenerationException("QR코드 생성 실패: " + e.getMessage());
+        } catch (IOException e) {
+            // 이미지 변환 실패
+            throw new CodeGenerationException("이미지 변환 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 행 단위로 연속된 검은 모듈을 하나의 사각형 경로로 합쳐 SVG를 생성
+     */
+    private String toSvg(BitMatrix bitMatrix, int size) {
+        int width = bitMatrix.getWidth();
+        int height = bitMatrix.getHeight();
+        StringBuilder path = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!bitMatrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && bitMatrix.get(x, y)) {
+                    x++;
+                }
+                path.append('M').append(start).append(',').append(y)
+                        .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + size + "\" height=\"" + size +
+                "\" viewBox=\"0 0 " + width + " " + height + "\" shape-rendering=\"crispEdges\">" +
+                "<rect width=\"" + width + "\" height=\"" + height + "\" fill=\"#fff\"/>" +
+                "<path d=\"" + path + "\" fill=\"#000\"/></svg>";
+    }
+
+    private void validate(int size, String format) {
+        if (!PNG.equals(format) && !SVG.equals(format)) {
+            throw new BadRequestException("지원하지 않는 이미지 형식입니다.");
+        }
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new BadRequestException("QR 크기는 " + MIN_SIZE + "~" + MAX_SIZE + " 사이여야 합니다.");
+        }
+    }
+
+    private String payloadOf(Store store) {
+        return store.getId().toString() + "," + store.getStoreName();
+    }
+
+    private String cacheKey(String payload, int size, String format) {
+        return format + ":" + size + ":" + payload;
+    }
+
+    private String eTagOf(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((RENDER_VERSION + ":" + key).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new CodeGenerationException("ETag 생성 실패");
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String escapeXml(String text) {
+        if (text == null) {
+            return "";
         }
+        return text.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;")
+                .replace("'", "&apos;");
     }
 }
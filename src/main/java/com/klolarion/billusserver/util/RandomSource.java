@@ -0,0 +1,51 @@
+package com.klolarion.billusserver.util;
+
+import com.klolarion.billusserver.exception.r500.CodeGenerationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import static java.security.DrbgParameters.Capability.RESEED_ONLY;
+
+/**
+ * 코드/토큰 생성용 공유 난수원
+ * 호출마다 SecureRandom.getInstanceStrong()을 생성하면 인스턴스 생성 비용이 크고, 엔트로피가 부족하면 /dev/random에서 대기한다.
+ * 클래스 로딩 시점에 DRBG 인스턴스를 CPU 수만큼 미리 생성/시드해 두고, 스레드 ID로 stripe를 골라 경합을 나눈다.
+ * DRBG 인스턴스는 thread-safe 이므로 같은 stripe를 여러 스레드가 함께 사용해도 된다.
+ */
+public final class RandomSource {
+    private static final int SECURITY_STRENGTH = 256;
+    private static final SecureRandom[] STRIPES = createStripes();
+
+    private RandomSource() {
+    }
+
+    /**
+     * 현재 스레드에 배정된 난수원
+     */
+    public static SecureRandom current() {
+        return STRIPES[(int) (Thread.currentThread().getId() & (STRIPES.length - 1))];
+    }
+
+    private static SecureRandom[] createStripes() {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        SecureRandom[] randoms = new SecureRandom[stripes];
+        for (int i = 0; i < stripes; i++) {
+            randoms[i] = newDrbg();
+            // 최초 시드를 미리 받아 두어 요청 스레드가 시드 생성을 기다리지 않도록 한다
+            randoms[i].nextBytes(new byte[SECURITY_STRENGTH / 8]);
+        }
+        return randoms;
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(SECURITY_STRENGTH, RESEED_ONLY, "billus".getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new CodeGenerationException("난수 생성기 초기화 중 오류가 발생했습니다");
+        }
+    }
+}
@@ -6,9 +6,13 @@ import com.klolarion.billusserver.exception.r403.AccessDeniedException;
 import com.klolarion.billusserver.exception.r500.RedisSessionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.klolarion.billusserver.util.constants.RedisKey.FAILURE_PREFIX;
@@ -31,55 +35,51 @@ public class RedisService {
         return prefix + ":" + id;
     }
 
+    /**
+     * 실패 카운터 처리 스크립트 (조회/증가/만료/잠금을 한 번에 처리)
+     * KEYS[1] 카운터 키, ARGV[1] 잠금 값, ARGV[2] 만료(초), ARGV[3] 최대 실패 횟수
+     * 반환: -1 이미 잠금, 그 외 증가된 실패 횟수 (최대 횟수 도달 시 잠금으로 전환됨)
+     */
+    private static final RedisScript<Long> FAILURE_COUNT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return -1 end " +
+            "local count = redis.call('INCR', KEYS[1]) " +
+            "if count == 1 then redis.call('EXPIRE', KEYS[1], ARGV[2]) end " +
+            "if count >= tonumber(ARGV[3]) then redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) end " +
+            "return count", Long.class);
+
     /**
      * 실패 카운터 처리 통합 메서드
-     * 1. Redis 조회
-     * 2. locked 상태 확인
-     * 3. 없으면 카운터 생성 (값=1)
-     * 4. 카운터 증가 처리 (1-4 사이)
-     * 5. 최대 실패시 잠금 처리 (count=5)
+     * Redis 스크립트 1회 호출로 처리하므로 동시 요청에서도 최대 실패 횟수를 넘지 않습니다.
+     * 1. locked 상태면 차단
+     * 2. 카운터 증가 (최초 1회는 만료 시간 설정, 이후 기존 TTL 유지)
+     * 3. 최대 실패시 잠금 처리 (count=5)
      */
     public void authFailureCountHandler(String id) {
         String key = generateRedisKey(FAILURE_PREFIX, id);
-        int count = 0;
-
-        // 1. Redis 조회
-        String value = redisTemplate.opsForValue().get(key);
 
+        Long result;
+        try {
+            result = redisTemplate.execute(FAILURE_COUNT_SCRIPT, List.of(key),
+                    LOCKED_STATUS, String.valueOf(LOCK_DURATION * 60L), String.valueOf(MAX_FAILURE_COUNT));
+        } catch (DataAccessException e) {
+            throw new RedisSessionException("사용자 정보 처리 중 오류 발생");
+        }
+        long count = result == null ? 0 : result;
 
-        // 2. locked 상태 확인
-        if (LOCKED_STATUS.equals(value)) {
+        // 1. locked 상태 확인
+        if (count < 0) {
             log.warn("계정 잠금 상태: id={}", id);
             throw new AccessDeniedException("계정이 잠금 상태입니다. " + LOCK_DURATION + "분 후에 다시 시도해주세요.");
         }
 
-        // 3. 값이 없으면 카운터 생성 (값=1)
-        if (value == null) {
-            count = 1;
-            redisTemplate.opsForValue().set(key, String.valueOf(count), LOCK_DURATION, TimeUnit.MINUTES);
-            log.debug("실패 카운터 생성: id={}, count=1", id);
-            throw new AuthFailureException("인증 정보 불일치. Count : " + count, count);
-        }
-
-        // 4. 현재 카운트 확인 및 증가
-        count = Integer.parseInt(value);
-        count++;
-
-        // 기존 TTL 유지
-        Long remainingTtl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
-        long ttl = (remainingTtl != null && remainingTtl > 0) ? remainingTtl : LOCK_DURATION * 60L;
-
-        // 5. 최대 실패 횟수 도달시 잠금 처리
+        // 3. 최대 실패 횟수 도달시 잠금 처리
         if (count >= MAX_FAILURE_COUNT) {
-            redisTemplate.opsForValue().set(key, LOCKED_STATUS, LOCK_DURATION, TimeUnit.MINUTES);
             log.warn("계정 잠금 처리: id={}", id);
             throw new AccessDeniedException("인증 시도 횟수를 초과했습니다. " + LOCK_DURATION + "분 후에 다시 시도해주세요.");
         }
 
-        // 증가된 카운트 저장 (기존 TTL 유지)
-        redisTemplate.opsForValue().set(key, String.valueOf(count), ttl, TimeUnit.SECONDS);
-        log.debug("실패 카운트 증가: id={}, count={}, remainingTtl={}s", id, count, ttl);
-        throw new AuthFailureException("인증 정보 불일치. Count : " + count, count);
+        log.debug("실패 카운트 증가: id={}, count={}", id, count);
+        throw new AuthFailureException("인증 정보 불일치. Count : " + count, (int) count);
     }
 
 
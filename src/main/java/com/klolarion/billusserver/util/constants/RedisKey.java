@@ -6,4 +6,13 @@ public class RedisKey {
 
     //리프레시 토큰 검증
     public static final String REFRESH_TOKEN_PREFIX = "token:refresh:";
+
+    //매장 일별 식수/매출 누계 (hash: count, total) - {storeId}:{yyyyMMdd}
+    public static final String STORE_DAY_PREFIX = "bill:store-day:";
+
+    //사업자 상태 조회 결과 (계속사업자, 휴업자, 폐업자, 미등록)
+    public static final String BIZNUM_STATUS_PREFIX = "biznum:status:";
+
+    //이메일 인증 OTP - {STORE|COMPANY}:{id}
+    public static final String OTP_PREFIX = "otp:";
 }
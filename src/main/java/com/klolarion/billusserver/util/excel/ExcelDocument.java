@@ -0,0 +1,54 @@
+package com.klolarion.billusserver.util.excel;
+
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 스트리밍(SXSSF) 방식 엑셀 문서
+ * ROW_WINDOW 행만 메모리에 유지하고 나머지는 임시 파일로 내려보내므로 행 수와 무관하게 메모리 사용량이 일정하다.
+ * writeTo 호출 시 출력 스트림에 바로 기록한 뒤 임시 파일을 정리한다.
+ */
+public class ExcelDocument {
+    private static final int ROW_WINDOW = 100;
+
+    @Getter
+    private final String fileName;
+    private final SXSSFWorkbook workbook;
+    @Getter
+    private final ExcelStyles styles;
+
+    public ExcelDocument(String fileName) {
+        this.fileName = fileName;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.styles = new ExcelStyles(workbook);
+    }
+
+    public Sheet createSheet(String sheetName) {
+        return workbook.createSheet(sheetName);
+    }
+
+    /**
+     * 문서를 출력 스트림에 기록하고 워크북 자원을 해제
+     * @param out 출력 스트림 (닫지 않음)
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        try {
+            workbook.write(out);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * 기록하지 않고 폐기할 때 임시 파일 정리
+     */
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.klolarion.billusserver.util.excel;
+
+import org.apache.poi.hssf.usermodel.HSSFDataFormat;
+import org.apache.poi.ss.usermodel.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 워크북 단위로 공유하는 셀 스타일 모음
+ * 셀마다 스타일을 새로 만들지 않고, (배경색, 굵은 테두리 위치) 조합별로 한 번만 생성해 재사용한다.
+ */
+public class ExcelStyles {
+    private static final short NUMBER_FORMAT = (short) HSSFDataFormat.getBuiltinFormat("#,##0");
+
+    /**
+     * 셀 배경색
+     */
+    public enum Fill {
+        NONE(null),
+        COUNT(IndexedColors.YELLOW),        // 누적횟수
+        TOTAL(IndexedColors.LIGHT_ORANGE),  // 합계
+        ALL_TOTAL(IndexedColors.ROSE);      // 전체합계
+
+        private final IndexedColors color;
+
+        Fill(IndexedColors color) {
+            this.color = color;
+        }
+    }
+
+    public static final int TOP = 1;
+    public static final int BOTTOM = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+
+    private final Workbook workbook;
+    private final Map<Integer, CellStyle> boxStyles = new HashMap<>();
+    private final CellStyle center;
+    private final CellStyle number;
+
+    ExcelStyles(Workbook workbook) {
+        this.workbook = workbook;
+
+        //가운데정렬
+        this.center = workbook.createCellStyle();
+        center.setAlignment(HorizontalAlignment.CENTER);
+        center.setVerticalAlignment(VerticalAlignment.CENTER);
+
+        //가운데정렬, 숫자 포맷(000,000,000)
+        this.number = workbook.createCellStyle();
+        number.cloneStyleFrom(center);
+        number.setDataFormat(NUMBER_FORMAT);
+    }
+
+    /**
+     * 테두리 없는 가운데정렬 스타일
+     */
+    public CellStyle center() {
+        return center;
+    }
+
+    /**
+     * 테두리 없는 가운데정렬, 숫자 포맷 스타일
+     */
+    public CellStyle number() {
+        return number;
+    }
+
+    /**
+     * 얇은 테두리 + 지정한 방향의 굵은 테두리를 가진 가운데정렬, 숫자 포맷 스타일
+     * @param fill 배경색
+     * @param thickEdges 굵은 테두리 방향 (TOP | BOTTOM | LEFT | RIGHT 조합)
+     */
+    public CellStyle box(Fill fill, int thickEdges) {
+        int key = fill.ordinal() << 4 | thickEdges;
+        return boxStyles.computeIfAbsent(key, k -> createBox(fill, thickEdges));
+    }
+
+    /**
+     * 배경색 없는 box 스타일
+     */
+    public CellStyle box(int thickEdges) {
+        return box(Fill.NONE, thickEdges);
+    }
+
+    private CellStyle createBox(Fill fill, int thickEdges) {
+        CellStyle style = workbook.createCellStyle();
+        style.setAlignment(HorizontalAlignment.CENTER);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        style.setBorderTop(border(thickEdges, TOP));
+        style.setBorderBottom(border(thickEdges, BOTTOM));
+        style.setBorderLeft(border(thickEdges, LEFT));
+        style.setBorderRight(border(thickEdges, RIGHT));
+        style.setDataFormat(NUMBER_FORMAT);
+        if (fill.color != null) {
+            style.setFillForegroundColor(fill.color.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        }
+        return style;
+    }
+
+    private BorderStyle border(int thickEdges, int edge) {
+        return (thickEdges & edge) != 0 ? BorderStyle.MEDIUM : BorderStyle.THIN;
+    }
+}
@@ -0,0 +1,23 @@
+package com.klolarion.billusserver.util.fcm;
+
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+
+import java.util.List;
+
+/**
+ * FCM 메시지 전송
+ * billus.fcm.mode 설정으로 구현 선택 (firebase: 실제 전송, stub: 로그만 기록)
+ */
+public interface FcmSender {
+
+    /** FCM 일괄 전송 1회 최대 메시지 수 */
+    int MAX_BATCH_SIZE = 500;
+
+    /**
+     * 메시지 일괄 전송 (최대 MAX_BATCH_SIZE건)
+     * @return 메시지 순서대로의 전송 결과 (성공: null, 실패: 오류)
+     * @throws FirebaseMessagingException 일괄 요청 자체가 실패한 경우
+     */
+    List<FirebaseMessagingException> sendEach(List<Message> messages) throws FirebaseMessagingException;
+}
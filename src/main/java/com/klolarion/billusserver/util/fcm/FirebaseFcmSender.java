@@ -0,0 +1,31 @@
+package com.klolarion.billusserver.util.fcm;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.SendResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "billus.fcm.mode", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseFcmSender implements FcmSender {
+
+    private final FirebaseMessaging firebaseMessaging;
+
+    @Override
+    public List<FirebaseMessagingException> sendEach(List<Message> messages) throws FirebaseMessagingException {
+        BatchResponse response = firebaseMessaging.sendEach(messages);
+        List<FirebaseMessagingException> results = new ArrayList<>(messages.size());
+        for (SendResponse sendResponse : response.getResponses()) {
+            results.add(sendResponse.isSuccessful() ? null : sendResponse.getException());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,32 @@
+package com.klolarion.billusserver.util.fcm;
+
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬/오프라인 환경용 FCM 전송 (Firebase 자격 증명 없이 전송 흐름만 확인)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "billus.fcm.mode", havingValue = "stub")
+public class StubFcmSender implements FcmSender {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public List<FirebaseMessagingException> sendEach(List<Message> messages) {
+        List<FirebaseMessagingException> results = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            log.info("FCM(stub)::stub-{} {}", sequence.incrementAndGet(), message);
+            results.add(null);
+        }
+        return results;
+    }
+}
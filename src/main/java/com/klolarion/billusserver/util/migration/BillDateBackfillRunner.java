@@ -0,0 +1,67 @@
+package com.klolarion.billusserver.util.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * bill_date 컬럼 도입 이전 장부의 bill_date/bill_year/bill_month 백필
+ * 잠금 시간을 줄이기 위해 bill_id 구간(BATCH_SIZE) 단위로 나누어 갱신하며, 백필 대상이 없으면 바로 종료한다.
+ * date가 YYYYMMDD 형식이 아닌 장부는 건너뛰고(bill_date NULL 유지) 로그로 남긴다.
+ * 백필 완료 후에는 billus.migration.bill-date-backfill=false 로 비활성화한다.
+ */
+@Slf4j
+@Order(1)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "billus.migration.bill-date-backfill", havingValue = "true")
+public class BillDateBackfillRunner implements CommandLineRunner {
+    private static final int BATCH_SIZE = 5000;
+    private static final int SKIPPED_LOG_LIMIT = 20;
+    // 변환할 수 없는 date는 WHERE에서 제외해 strict 모드에서도 UPDATE가 실패하지 않도록 한다
+    private static final String VALID_DATE = "date REGEXP '^[0-9]{8}$' AND STR_TO_DATE(date, '%Y%m%d') IS NOT NULL";
+    private static final String RANGE_SQL = "SELECT MIN(bill_id) AS min_id, MAX(bill_id) AS max_id FROM bill WHERE bill_date IS NULL";
+    private static final String BACKFILL_SQL = "UPDATE bill SET " +
+            "bill_date = STR_TO_DATE(date, '%Y%m%d'), " +
+            "bill_year = CAST(LEFT(date, 4) AS UNSIGNED), " +
+            "bill_month = CAST(LEFT(date, 6) AS UNSIGNED) " +
+            "WHERE bill_id BETWEEN ? AND ? AND bill_date IS NULL AND " + VALID_DATE;
+    private static final String SKIPPED_COUNT_SQL = "SELECT COUNT(*) FROM bill WHERE bill_date IS NULL";
+    private static final String SKIPPED_SQL = "SELECT bill_id, date FROM bill WHERE bill_date IS NULL " +
+            "ORDER BY bill_id LIMIT " + SKIPPED_LOG_LIMIT;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(RANGE_SQL);
+        Number minId = (Number) range.get("min_id");
+        Number maxId = (Number) range.get("max_id");
+        if (minId == null || maxId == null) {
+            return;
+        }
+
+        // 갱신 건수가 아니라 bill_id 구간으로 진행하므로 건너뛴 장부가 있어도 반드시 끝난다
+        long total = 0;
+        for (long from = minId.longValue(); from <= maxId.longValue(); from += BATCH_SIZE) {
+            total += jdbcTemplate.update(BACKFILL_SQL, from, from + BATCH_SIZE - 1);
+        }
+        if (total > 0) {
+            log.info("Init::bill_date backfilled for {} bill(s)", total);
+        }
+
+        Long skipped = jdbcTemplate.queryForObject(SKIPPED_COUNT_SQL, Long.class);
+        if (skipped != null && skipped > 0) {
+            List<String> samples = jdbcTemplate.query(SKIPPED_SQL,
+                    (rs, rowNum) -> rs.getLong("bill_id") + "=" + rs.getString("date"));
+            log.warn("Init::bill_date backfill skipped {} bill(s) with unparseable date, e.g. {}", skipped, samples);
+        }
+    }
+}
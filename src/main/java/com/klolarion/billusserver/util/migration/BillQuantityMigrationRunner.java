@@ -0,0 +1,97 @@
+package com.klolarion.billusserver.util.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 장부 식수(quantity)/단가(unit_price)/금액(amount) 도입에 따른 기존 데이터 정리
+ * 1. 단가가 없는 장부에 현재 매장 식대를 채운다.
+ * 2. 같은 등록 건(매장, 회사, 장부 날짜, 등록일시)의 방문객 장부 여러 행을 식수 합계를 가진 1행으로 합친다.
+ * 3. 금액이 없는 장부에 단가 x 식수를 채운다.
+ * 배포 이후 장부는 이미 식수/단가를 가지며, 같은 초에 등록된 서로 다른 방문객 장부가 합쳐지지 않도록
+ * 모든 단계는 배포 시점의 최대 장부 ID(billus.migration.bill-quantity-max-id) 이하로 제한한다.
+ * 잠금 시간을 줄이기 위해 1, 3단계는 bill_id 구간(BATCH_SIZE) 단위로 나누어 갱신한다.
+ * 집계(bill_summary)의 건수/금액은 변하지 않으므로 재생성하지 않는다.
+ * bill_date 백필이 끝난 장부만 합치므로 BillDateBackfillRunner 이후에 실행한다.
+ * 완료 후에는 billus.migration.bill-quantity=false 로 비활성화한다.
+ */
+@Slf4j
+@Order(2)
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "billus.migration.bill-quantity", havingValue = "true")
+public class BillQuantityMigrationRunner implements CommandLineRunner {
+    private static final int BATCH_SIZE = 5000;
+    private static final String MIN_ID_SQL = "SELECT MIN(bill_id) FROM bill";
+    private static final String UNIT_PRICE_SQL = "UPDATE bill SET " +
+            "unit_price = (SELECT s.price FROM store s WHERE s.store_id = bill.store_id) " +
+            "WHERE bill_id BETWEEN ? AND ? AND unit_price IS NULL";
+    private static final String VISITOR_GROUPS = "SELECT MIN(bill_id) AS keep_id, SUM(quantity) AS total_quantity, " +
+            "store_id, company_id, bill_date, created_date FROM bill " +
+            "WHERE member_id IS NULL AND bill_date IS NOT NULL AND bill_id <= ? " +
+            "GROUP BY store_id, company_id, bill_date, created_date HAVING COUNT(*) > 1";
+    private static final String MERGE_SQL = "UPDATE bill b JOIN (" + VISITOR_GROUPS + ") g ON b.bill_id = g.keep_id " +
+            "SET b.quantity = g.total_quantity, b.amount = b.unit_price * g.total_quantity";
+    private static final String DELETE_SQL = "DELETE b FROM bill b JOIN (" + VISITOR_GROUPS + ") g " +
+            "ON b.store_id = g.store_id AND b.company_id = g.company_id " +
+            "AND b.bill_date = g.bill_date AND b.created_date = g.created_date " +
+            "WHERE b.member_id IS NULL AND b.bill_id <> g.keep_id AND b.bill_id <= ?";
+    private static final String AMOUNT_SQL = "UPDATE bill SET amount = unit_price * quantity " +
+            "WHERE bill_id BETWEEN ? AND ? AND amount IS NULL AND unit_price IS NOT NULL AND quantity IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 배포 시점의 최대 장부 ID (이후 등록된 장부는 건드리지 않음)
+    @Value("${billus.migration.bill-quantity-max-id}")
+    private long maxBillId;
+
+    @Override
+    public void run(String... args) {
+        if (maxBillId <= 0) {
+            log.warn("Init::bill quantity migration skipped - billus.migration.bill-quantity-max-id is not set");
+            return;
+        }
+        Long minBillId = jdbcTemplate.queryForObject(MIN_ID_SQL, Long.class);
+        if (minBillId == null) {
+            return;
+        }
+
+        long priced = updateByRange(UNIT_PRICE_SQL, minBillId);
+        if (priced > 0) {
+            log.info("Init::unit_price backfilled for {} bill(s)", priced);
+        }
+
+        // 삭제 대상 조회 전에 식수를 먼저 합산해야 하므로 같은 트랜잭션에서 실행
+        Integer removed = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(MERGE_SQL, maxBillId);
+            return jdbcTemplate.update(DELETE_SQL, maxBillId, maxBillId);
+        });
+        if (removed != null && removed > 0) {
+            log.info("Init::collapsed {} visitor bill row(s) into quantity", removed);
+        }
+
+        long amounts = updateByRange(AMOUNT_SQL, minBillId);
+        if (amounts > 0) {
+            log.info("Init::amount backfilled for {} bill(s)", amounts);
+        }
+    }
+
+    /**
+     * 갱신 건수가 아니라 bill_id 구간으로 진행하므로, 값을 채울 수 없는 장부(매장 식대 없음 등)가 있어도 반드시 끝난다.
+     */
+    private long updateByRange(String sql, long minBillId) {
+        long total = 0;
+        for (long from = minBillId; from <= maxBillId; from += BATCH_SIZE) {
+            total += jdbcTemplate.update(sql, from, Math.min(from + BATCH_SIZE - 1, maxBillId));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,73 @@
+package com.klolarion.billusserver.util.otp;
+
+import com.klolarion.billusserver.domain.QOtp;
+import com.klolarion.billusserver.util.GenerateCodeUtil;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * otp 테이블 OTP 저장소 (Redis를 쓸 수 없을 때)
+ * 대상별로 1행만 유지하며 다음 발급 시 교체됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional
+@ConditionalOnProperty(name = "billus.otp.store", havingValue = "jpa")
+public class JpaOtpStore implements OtpStore {
+    private final JPAQueryFactory query;
+    private final QOtp qOtp = QOtp.otp;
+
+    @Value("${billus.otp.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Override
+    public String issue(String targetType, String targetId) {
+        // 기존 OTP 삭제
+        query.delete(qOtp)
+             .where(qOtp.id.eq(targetId)
+                   .and(qOtp.targetType.eq(targetType)))
+             .execute();
+
+        // 새 OTP 생성
+        String code = GenerateCodeUtil.generateOtpCode();
+        LocalDateTime expireTime = LocalDateTime.now().plusMinutes(ttlMinutes);
+
+        query.insert(qOtp)
+             .columns(qOtp.id, qOtp.targetType, qOtp.code, qOtp.isUsed, qOtp.expireTime)
+             .values(targetId, targetType, code, "F", expireTime)
+             .execute();
+        return code;
+    }
+
+    @Override
+    public OtpVerifyResult verifyAndConsume(String targetType, String targetId, String code) {
+        String savedCode = query.select(qOtp.code)
+                .from(qOtp)
+                .where(qOtp.id.eq(targetId)
+                      .and(qOtp.targetType.eq(targetType))
+                      .and(qOtp.isUsed.eq("F"))
+                      .and(qOtp.expireTime.gt(LocalDateTime.now())))
+                .fetchOne();
+        if (savedCode == null) {
+            return OtpVerifyResult.NOT_FOUND;
+        }
+        if (!savedCode.equals(code)) {
+            return OtpVerifyResult.MISMATCH;
+        }
+
+        // 미사용 상태일 때만 사용 처리 (동시 검증 시 1건만 성공)
+        long updated = query.update(qOtp)
+                .set(qOtp.isUsed, "T")
+                .where(qOtp.id.eq(targetId)
+                      .and(qOtp.targetType.eq(targetType))
+                      .and(qOtp.isUsed.eq("F")))
+                .execute();
+        return updated == 1 ? OtpVerifyResult.VERIFIED : OtpVerifyResult.NOT_FOUND;
+    }
+}
@@ -0,0 +1,26 @@
+package com.klolarion.billusserver.util.otp;
+
+/**
+ * 이메일 인증 OTP 저장소
+ * 대상(타입+ID)당 OTP 1개만 유지하며, 새로 발급하면 이전 OTP는 무효가 됩니다.
+ * billus.otp.store 설정으로 구현 선택 (redis: Redis 키 만료, jpa: otp 테이블)
+ */
+public interface OtpStore {
+
+    /**
+     * OTP 발급
+     * @param targetType 대상 타입 (STORE/COMPANY)
+     * @param targetId 대상 ID
+     * @return 발급된 OTP 코드
+     */
+    String issue(String targetType, String targetId);
+
+    /**
+     * OTP 검증 후 일치하면 사용 처리합니다. (검증과 사용 처리는 한 번에 이루어짐)
+     * @param targetType 대상 타입 (STORE/COMPANY)
+     * @param targetId 대상 ID
+     * @param code 입력 코드
+     * @return 검증 결과
+     */
+    OtpVerifyResult verifyAndConsume(String targetType, String targetId, String code);
+}
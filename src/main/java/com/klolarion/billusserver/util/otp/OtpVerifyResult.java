@@ -0,0 +1,16 @@
+package com.klolarion.billusserver.util.otp;
+
+import lombok.Getter;
+
+@Getter
+public enum OtpVerifyResult {
+    VERIFIED("인증 성공"),
+    NOT_FOUND("OTP 없음 또는 만료"),
+    MISMATCH("코드 불일치");
+
+    private final String description;
+
+    OtpVerifyResult(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,58 @@
+package com.klolarion.billusserver.util.otp;
+
+import com.klolarion.billusserver.util.GenerateCodeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.klolarion.billusserver.util.constants.RedisKey.OTP_PREFIX;
+
+/**
+ * Redis OTP 저장소 (기본값)
+ * 발급은 SET EX 1회, 검증은 스크립트 1회로 조회/비교/삭제를 함께 처리합니다. 만료는 Redis 키 만료에 맡깁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "billus.otp.store", havingValue = "redis", matchIfMissing = true)
+public class RedisOtpStore implements OtpStore {
+
+    // 반환: 0 없음/만료, 1 일치(삭제됨), 2 불일치
+    private static final RedisScript<Long> VERIFY_SCRIPT = new DefaultRedisScript<>(
+            "local code = redis.call('GET', KEYS[1]) " +
+            "if not code then return 0 end " +
+            "if code ~= ARGV[1] then return 2 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${billus.otp.ttl-minutes}")
+    private long ttlMinutes;
+
+    @Override
+    public String issue(String targetType, String targetId) {
+        String code = GenerateCodeUtil.generateOtpCode();
+        redisTemplate.opsForValue().set(key(targetType, targetId), code, ttlMinutes, TimeUnit.MINUTES);
+        return code;
+    }
+
+    @Override
+    public OtpVerifyResult verifyAndConsume(String targetType, String targetId, String code) {
+        Long result = redisTemplate.execute(VERIFY_SCRIPT, List.of(key(targetType, targetId)), code);
+        if (result == null || result == 0) {
+            return OtpVerifyResult.NOT_FOUND;
+        }
+        return result == 1 ? OtpVerifyResult.VERIFIED : OtpVerifyResult.MISMATCH;
+    }
+
+    private String key(String targetType, String targetId) {
+        return OTP_PREFIX + targetType + ":" + targetId;
+    }
+}
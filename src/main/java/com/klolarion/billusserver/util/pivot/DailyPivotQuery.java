@@ -0,0 +1,22 @@
+package com.klolarion.billusserver.util.pivot;
+
+import com.klolarion.billusserver.util.BillDateRange;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 월간 일별 건수 피벗 조회
+ * billus.pivot.engine 설정으로 구현 선택 (sql: DB CASE 피벗, memory: 애플리케이션 집계)
+ */
+public interface DailyPivotQuery {
+
+    /**
+     * @param shape 피벗 종류
+     * @param range 조회 구간 (보통 1개월)
+     * @param storeId 매장 ID (매장 조건이 없는 피벗이면 무시)
+     * @param companyId 회사 ID (회사 조건이 없는 피벗이면 무시)
+     * @return 이름순 피벗 행
+     */
+    List<DailyPivotRow> fetch(DailyPivotShape shape, BillDateRange range, UUID storeId, UUID companyId);
+}
@@ -0,0 +1,40 @@
+package com.klolarion.billusserver.util.pivot;
+
+import lombok.Getter;
+
+/**
+ * 월간 일별 피벗 1행 (이름, 1~31일 건수/금액, 합계)
+ * 금액은 장부에 저장된 등록 시점 금액의 합이므로 식대가 바뀌어도 과거 값이 유지된다.
+ */
+@Getter
+public class DailyPivotRow {
+    public static final int DAYS = 31;
+
+    private final String key;
+    private final int[] counts;
+    private final long[] amounts;
+    private final int total;
+    private final long totalAmount;
+
+    public DailyPivotRow(String key, int[] counts, long[] amounts, int total, long totalAmount) {
+        this.key = key;
+        this.counts = counts;
+        this.amounts = amounts;
+        this.total = total;
+        this.totalAmount = totalAmount;
+    }
+
+    /**
+     * @param day 1~31
+     */
+    public int countOf(int day) {
+        return counts[day - 1];
+    }
+
+    /**
+     * @param day 1~31
+     */
+    public long amountOf(int day) {
+        return amounts[day - 1];
+    }
+}
@@ -0,0 +1,75 @@
+package com.klolarion.billusserver.util.pivot;
+
+import com.klolarion.billusserver.util.BillDateRange;
+import jakarta.persistence.Query;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * 월간 일별 식수/금액 피벗 종류
+ * 종류별 SQL은 최초 1회만 생성하고, 조건은 모두 바인딩 파라미터로 전달한다.
+ * (SQL 문자열이 고정되어 Hibernate 쿼리 플랜 캐시와 드라이버 PreparedStatement 캐시를 재사용)
+ */
+@Getter
+public enum DailyPivotShape {
+    /** 회사 - 특정 매장의 직원별 (회원이 없는 장부는 방문) */
+    MEMBER_BY_STORE_AND_COMPANY("IFNULL(m.member_name, '방문')", "b.member_id",
+            "LEFT JOIN member m ON m.member_id = b.member_id", true, true),
+    /** 매장 - 회사별 */
+    COMPANY_BY_STORE("c.company_name", "b.company_id",
+            "JOIN company c ON c.company_id = b.company_id", true, false),
+    /** 회사 - 매장별 */
+    STORE_BY_COMPANY("s.store_name", "b.store_id",
+            "JOIN store s ON s.store_id = b.store_id", false, true);
+
+    private final boolean storeFiltered;
+    private final boolean companyFiltered;
+    /** CASE 열 피벗 (이름, 1~31일 식수, 1~31일 금액, 식수 합계, 금액 합계) */
+    private final String sql;
+    /** (엔티티ID, 이름, 일, 식수, 금액) 투영 - 애플리케이션에서 피벗 */
+    private final String projectionSql;
+
+    DailyPivotShape(String keyColumn, String groupColumn, String join, boolean storeFiltered, boolean companyFiltered) {
+        this.storeFiltered = storeFiltered;
+        this.companyFiltered = companyFiltered;
+
+        StringBuilder where = new StringBuilder(" FROM bill b ").append(join)
+                .append(" WHERE b.bill_date >= :start AND b.bill_date < :end");
+        if (storeFiltered) {
+            where.append(" AND b.store_id = :storeId");
+        }
+        if (companyFiltered) {
+            where.append(" AND b.company_id = :companyId");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(keyColumn).append(" AS pivot_key");
+        for (int day = 1; day <= DailyPivotRow.DAYS; day++) {
+            sql.append(", SUM(CASE WHEN DAY(b.bill_date) = ").append(day).append(" THEN b.quantity ELSE 0 END)");
+        }
+        for (int day = 1; day <= DailyPivotRow.DAYS; day++) {
+            sql.append(", SUM(CASE WHEN DAY(b.bill_date) = ").append(day).append(" THEN b.amount ELSE 0 END)");
+        }
+        sql.append(", SUM(b.quantity) AS total, SUM(b.amount) AS total_amount").append(where)
+                .append(" GROUP BY ").append(groupColumn).append(", pivot_key ORDER BY pivot_key");
+        this.sql = sql.toString();
+
+        this.projectionSql = "SELECT " + groupColumn + ", " + keyColumn + " AS pivot_key, DAY(b.bill_date), SUM(b.quantity), SUM(b.amount)" + where
+                + " GROUP BY " + groupColumn + ", pivot_key, b.bill_date";
+    }
+
+    /**
+     * 피벗 종류에 맞는 조건 파라미터 바인딩
+     */
+    public Query bind(Query query, BillDateRange range, UUID storeId, UUID companyId) {
+        query.setParameter("start", range.getStart())
+                .setParameter("end", range.getEnd());
+        if (storeFiltered) {
+            query.setParameter("storeId", storeId.toString());
+        }
+        if (companyFiltered) {
+            query.setParameter("companyId", companyId.toString());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,86 @@
+package com.klolarion.billusserver.util.pivot;
+
+import com.klolarion.billusserver.util.BillDateRange;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * (엔티티ID, 이름, 일, 식수, 금액) 투영만 DB에서 받고 피벗은 애플리케이션에서 계산하는 구현
+ * 결과는 전방향 커서로 한 행씩 읽어 엔티티별 int[31]/long[31] 배열에 누적한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "billus.pivot.engine", havingValue = "memory")
+public class InMemoryDailyPivotQuery implements DailyPivotQuery {
+
+    private static final int FETCH_SIZE = 500;
+
+    private final EntityManager em;
+
+    @Override
+    public List<DailyPivotRow> fetch(DailyPivotShape shape, BillDateRange range, UUID storeId, UUID companyId) {
+        Map<String, Accumulator> accumulators = new HashMap<>();
+
+        try (Stream<Object[]> projection = shape.bind(em.createNativeQuery(shape.getProjectionSql()), range, storeId, companyId)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            projection.forEach(values -> accumulators
+                    .computeIfAbsent(idOf(values[0]), id -> new Accumulator((String) values[1]))
+                    .add(((Number) values[2]).intValue(), ((Number) values[3]).intValue(),
+                            values[4] == null ? 0 : ((Number) values[4]).longValue()));
+        }
+
+        List<DailyPivotRow> rows = new ArrayList<>(accumulators.size());
+        for (Accumulator accumulator : accumulators.values()) {
+            rows.add(new DailyPivotRow(accumulator.key, accumulator.counts, accumulator.amounts,
+                    accumulator.total, accumulator.totalAmount));
+        }
+        rows.sort(Comparator.comparing(DailyPivotRow::getKey, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return rows;
+    }
+
+    /**
+     * 엔티티 ID 컬럼을 맵 키로 변환 (방문객 장부처럼 ID가 없으면 빈 문자열)
+     */
+    private String idOf(Object id) {
+        if (id == null) {
+            return "";
+        }
+        if (id instanceof byte[] bytes) {
+            return HexFormat.of().formatHex(bytes);
+        }
+        return id.toString();
+    }
+
+    private static class Accumulator {
+        private final String key;
+        private final int[] counts = new int[DailyPivotRow.DAYS];
+        private final long[] amounts = new long[DailyPivotRow.DAYS];
+        private int total;
+        private long totalAmount;
+
+        private Accumulator(String key) {
+            this.key = key;
+        }
+
+        private void add(int day, int count, long amount) {
+            counts[day - 1] += count;
+            amounts[day - 1] += amount;
+            total += count;
+            totalAmount += amount;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.klolarion.billusserver.util.pivot;
+
+import com.klolarion.billusserver.util.BillDateRange;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DB에서 CASE 피벗까지 계산하는 구현 (기본값)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "billus.pivot.engine", havingValue = "sql", matchIfMissing = true)
+public class SqlDailyPivotQuery implements DailyPivotQuery {
+
+    private final EntityManager em;
+
+    @Override
+    public List<DailyPivotRow> fetch(DailyPivotShape shape, BillDateRange range, UUID storeId, UUID companyId) {
+        Query pivot = shape.bind(em.createNativeQuery(shape.getSql()), range, storeId, companyId);
+        List<Object[]> resultList = pivot.getResultList();
+        List<DailyPivotRow> rows = new ArrayList<>(resultList.size());
+        for (Object[] values : resultList) {
+            int[] counts = new int[DailyPivotRow.DAYS];
+            long[] amounts = new long[DailyPivotRow.DAYS];
+            for (int day = 0; day < DailyPivotRow.DAYS; day++) {
+                counts[day] = (int) toLong(values[day + 1]);
+                amounts[day] = toLong(values[DailyPivotRow.DAYS + day + 1]);
+            }
+            int totalIndex = DailyPivotRow.DAYS * 2 + 1;
+            rows.add(new DailyPivotRow((String) values[0], counts, amounts,
+                    (int) toLong(values[totalIndex]), toLong(values[totalIndex + 1])));
+        }
+        return rows;
+    }
+
+    private long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
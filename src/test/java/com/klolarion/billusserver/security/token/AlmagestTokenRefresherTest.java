@@ -0,0 +1,153 @@
+package com.klolarion.billusserver.security.token;
+
+import com.klolarion.billusserver.config.HttpClientProperties;
+import com.klolarion.billusserver.exception.r401.InvalidTokenException;
+import com.klolarion.billusserver.exception.r503.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AlmagestTokenRefresherTest {
+    private static final int BREAKER_FAILURE_THRESHOLD = 2;
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void 같은_토큰의_동시_갱신은_외부_호출_1건을_공유한다() throws Exception {
+        AlmagestTokenRefresher refresher = refresher(10_000);
+        server.enqueue(new MockResponse()
+                .setHeadersDelay(300, TimeUnit.MILLISECONDS)
+                .addHeader("Set-Cookie", "access_token=renewed")
+                .setBody("ok"));
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return refresher.refresh("refresh-token");
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<String>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("ok");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getHeader("Cookie")).isEqualTo("refresh_token=refresh-token");
+    }
+
+    @Test
+    void 성공한_결과는_grace_시간_동안만_재사용한다() {
+        AlmagestTokenRefresher reusing = refresher(10_000);
+        server.enqueue(new MockResponse().setBody("first"));
+        server.enqueue(new MockResponse().setBody("second"));
+
+        assertThat(reusing.refresh("refresh-token").getBody()).isEqualTo("first");
+        assertThat(reusing.refresh("refresh-token").getBody()).isEqualTo("first");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+
+        // grace 0: 진행 중 공유와 별개로 완료된 결과는 바로 만료
+        AlmagestTokenRefresher noGrace = refresher(0);
+        server.enqueue(new MockResponse().setBody("third"));
+
+        assertThat(noGrace.refresh("refresh-token").getBody()).isEqualTo("second");
+        assertThat(noGrace.refresh("refresh-token").getBody()).isEqualTo("third");
+        assertThat(server.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void 인증_서버가_토큰을_거부하면_401로_응답하고_결과를_보관하지_않는다() {
+        AlmagestTokenRefresher refresher = refresher(10_000);
+        server.enqueue(new MockResponse().setResponseCode(401));
+        server.enqueue(new MockResponse().setResponseCode(403));
+
+        assertThatThrownBy(() -> refresher.refresh("expired-token")).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> refresher.refresh("expired-token")).isInstanceOf(InvalidTokenException.class);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void 장애가_이어지면_서킷_브레이커가_열려_호출_없이_503으로_응답한다() {
+        AlmagestTokenRefresher refresher = refresher(10_000);
+        for (int i = 0; i < BREAKER_FAILURE_THRESHOLD; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        for (int i = 0; i < BREAKER_FAILURE_THRESHOLD; i++) {
+            assertThatThrownBy(() -> refresher.refresh("refresh-token")).isInstanceOf(ServiceUnavailableException.class);
+        }
+        assertThat(server.getRequestCount()).isEqualTo(BREAKER_FAILURE_THRESHOLD);
+
+        server.enqueue(new MockResponse().setBody("ok"));
+        assertThatThrownBy(() -> refresher.refresh("refresh-token")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(server.getRequestCount()).isEqualTo(BREAKER_FAILURE_THRESHOLD);
+    }
+
+    private AlmagestTokenRefresher refresher(long refreshGraceMs) {
+        HttpClientProperties properties = new HttpClientProperties();
+        HttpClientProperties.Destination destination = new HttpClientProperties.Destination();
+        destination.setReadTimeoutMs(3000);
+        properties.getDestinations().put("almagest", destination);
+
+        AlmagestTokenRefresher refresher = new AlmagestTokenRefresher(restTemplate(), properties, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(refresher, "refreshGraceMs", refreshGraceMs);
+        ReflectionTestUtils.setField(refresher, "breakerFailureThreshold", BREAKER_FAILURE_THRESHOLD);
+        ReflectionTestUtils.setField(refresher, "breakerOpenMs", 60_000L);
+        refresher.init();
+        return refresher;
+    }
+
+    /**
+     * Almagest 갱신 URL로 나가는 요청을 MockWebServer로 보낸다.
+     */
+    private RestTemplate restTemplate() {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+        URI target = server.url("/").uri();
+        restTemplate.getInterceptors().add((request, body, execution) -> execution.execute(new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                URI original = request.getURI();
+                return target.resolve(original.getRawPath());
+            }
+        }, body));
+        return restTemplate;
+    }
+}
@@ -0,0 +1,182 @@
+package com.klolarion.billusserver.security.token;
+
+import com.klolarion.billusserver.exception.r401.InvalidTokenException;
+import com.klolarion.billusserver.util.RedisService;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+    private static final String ALMAGEST_ISSUER = "https://almagest.io";
+
+    private final RedisService redisService = mock(RedisService.class);
+    private KeyPair memberKeys;
+    private String secretKey;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        memberKeys = rsaKeyPair();
+        secretKey = secretKey();
+
+        MemberTokenCache memberTokenCache = new MemberTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(memberTokenCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(memberTokenCache, "ttlSeconds", 60L);
+        memberTokenCache.init();
+
+        tokenService = new TokenService(redisService, memberTokenCache);
+        ReflectionTestUtils.setField(tokenService, "secretKey", secretKey);
+        ReflectionTestUtils.setField(tokenService, "publicKey", encode(memberKeys));
+        ReflectionTestUtils.setField(tokenService, "accessExpiration", TimeUnit.MINUTES.toMillis(10));
+        ReflectionTestUtils.setField(tokenService, "refreshExpiration", TimeUnit.DAYS.toMillis(1));
+        tokenService.init();
+    }
+
+    @Test
+    void 발급한_Admin_토큰은_검증을_통과한다() {
+        String token = tokenService.generateAdminAccessToken("admin-1");
+
+        VerifiedClaims claims = tokenService.verifyAdminAccessToken(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("admin-1");
+        assertThat(claims.getAudience()).isEqualTo("Admin");
+    }
+
+    @Test
+    void 발급한_Store_Company_토큰은_같은_역할로만_검증을_통과한다() {
+        String storeToken = tokenService.generateStoreAccessToken("store-1");
+        String companyToken = tokenService.generateCompanyAccessToken("company-1");
+
+        assertThat(tokenService.verifyBillusAccessToken(storeToken, "Store").getSubject()).isEqualTo("store-1");
+        assertThat(tokenService.verifyBillusAccessToken(companyToken, "Company").getSubject()).isEqualTo("company-1");
+        assertThat(tokenService.verifyBillusAccessToken(storeToken, "Company")).isNull();
+        assertThat(tokenService.verifyBillusAccessToken(companyToken, "Store")).isNull();
+    }
+
+    @Test
+    void Store_Company_토큰으로는_Admin_인증을_통과할_수_없다() {
+        assertThat(tokenService.verifyAdminAccessToken(tokenService.generateStoreAccessToken("store-1"))).isNull();
+        assertThat(tokenService.verifyAdminAccessToken(tokenService.generateCompanyAccessToken("company-1"))).isNull();
+    }
+
+    @Test
+    void Refresh_Token은_발급한_역할로만_검증을_통과한다() {
+        String refreshToken = tokenService.generateCompanyRefreshToken("company-1");
+        ArgumentCaptor<String> verifyString = ArgumentCaptor.forClass(String.class);
+        verify(redisService).setRefreshTokenVerification(eq("company-1"), verifyString.capture(), anyLong());
+        when(redisService.getRefreshTokenVerification("company-1")).thenReturn(verifyString.getValue());
+
+        assertThat(tokenService.verifyRefreshToken(refreshToken, "Company").getSubject()).isEqualTo("company-1");
+        assertThatThrownBy(() -> tokenService.verifyRefreshToken(refreshToken, "Store"))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> tokenService.refreshAccessToken(refreshToken, "Store"))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void 발행자가_다른_Refresh_Token은_거부한다() {
+        String refreshToken = Jwts.builder()
+                .setIssuer(ALMAGEST_ISSUER)
+                .setAudience("Store")
+                .setSubject("store-1")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10)))
+                .claim("vfs", "verify")
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey)), SignatureAlgorithm.HS256)
+                .compact();
+        when(redisService.getRefreshTokenVerification("store-1")).thenReturn("verify");
+
+        assertThatThrownBy(() -> tokenService.verifyRefreshToken(refreshToken, "Store"))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void 다른_키로_서명된_토큰은_거부한다() throws NoSuchAlgorithmException {
+        String token = tokenService.generateStoreAccessToken("store-1");
+        tokenService.reloadKeys(encode(memberKeys), secretKey());
+
+        assertThat(tokenService.verifyBillusAccessToken(token, "Store")).isNull();
+        assertThatThrownBy(() -> tokenService.verifyAdminAccessToken(token))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void 키_변환에_실패하면_기존_키를_유지한다() {
+        String billusToken = tokenService.generateStoreAccessToken("store-1");
+        String memberToken = memberToken(memberKeys, "member-1");
+
+        // 공개 키 변환 실패 (X.509 아님)
+        assertThatThrownBy(() -> tokenService.reloadKeys(Base64.getEncoder().encodeToString(new byte[16]), secretKey()))
+                .isInstanceOf(JwtException.class);
+        // 비밀 키 변환 실패 (HS256 최소 길이 미달)
+        assertThatThrownBy(() -> tokenService.reloadKeys(encode(memberKeys), Base64.getEncoder().encodeToString(new byte[8])))
+                .isInstanceOf(JwtException.class);
+
+        assertThat(tokenService.verifyBillusAccessToken(billusToken, "Store")).isNotNull();
+        assertThat(tokenService.verifyMemberAccessToken(memberToken)).isNotNull();
+        // 새로 발급한 토큰도 기존 키로 서명/검증
+        String renewed = tokenService.generateCompanyAccessToken("company-1");
+        assertThat(tokenService.verifyBillusAccessToken(renewed, "Company")).isNotNull();
+    }
+
+    @Test
+    void 키를_교체하면_Member_토큰_캐시를_비운다() throws NoSuchAlgorithmException {
+        String memberToken = memberToken(memberKeys, "member-1");
+        assertThat(tokenService.verifyMemberAccessToken(memberToken)).isNotNull();
+
+        KeyPair rotated = rsaKeyPair();
+        tokenService.reloadKeys(encode(rotated), secretKey);
+
+        // 캐시가 남아 있으면 이전 공개 키로 검증한 결과가 그대로 반환됨
+        assertThat(tokenService.verifyMemberAccessToken(memberToken)).isNull();
+        assertThat(tokenService.verifyMemberAccessToken(memberToken(rotated, "member-1"))).isNotNull();
+    }
+
+    private static String memberToken(KeyPair keyPair, String subject) {
+        return Jwts.builder()
+                .setIssuer(ALMAGEST_ISSUER)
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10)))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair rsaKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private static String encode(KeyPair keyPair) {
+        return Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    private static String secretKey() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
@@ -0,0 +1,266 @@
+package com.klolarion.billusserver.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.klolarion.billusserver.domain.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 대기열은 MariaDB(SKIP LOCKED), SMTP는 GreenMail로 대체
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MailOutboxServiceTest {
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_MS = 60_000;
+
+    @Container
+    private static final MariaDBContainer<?> MARIADB = new MariaDBContainer<>(DockerImageName.parse("mariadb:10.11"));
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void createTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                MARIADB.getJdbcUrl(), MARIADB.getUsername(), MARIADB.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE mail_outbox (" +
+                "mail_outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "recipient VARCHAR(100) NOT NULL, " +
+                "subject VARCHAR(200) NOT NULL, " +
+                "body TEXT, " +
+                "is_html VARCHAR(1) NOT NULL, " +
+                "status VARCHAR(10) NOT NULL, " +
+                "attempts INT NOT NULL, " +
+                "next_attempt_at DATETIME(6) NOT NULL, " +
+                "last_error VARCHAR(500))");
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.execute("TRUNCATE TABLE mail_outbox");
+    }
+
+    @Test
+    void 대기열을_batch_size_단위로_꺼내_모두_발송하고_행을_삭제한다() throws Exception {
+        JavaMailSenderImpl mailSender = spy(greenMailSender());
+        MailOutboxService service = service(mailSender, 10);
+        for (int i = 0; i < 7; i++) {
+            insert("user" + i + "@billus.test", 0, LocalDateTime.now().minusSeconds(1));
+        }
+
+        service.drain();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(7);
+        assertThat(received[0].getSubject()).isEqualTo("제목");
+        // 3, 3, 1건씩 꺼내 꺼낸 묶음마다 한 번에 발송
+        verify(mailSender, times(3)).send(any(MimeMessage[].class));
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void 발송_시각이_되지_않은_메일은_꺼내지_않는다() {
+        MailOutboxService service = service(greenMailSender(), 10);
+        insert("later@billus.test", 1, LocalDateTime.now().plusMinutes(5));
+
+        service.drain();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(count()).isEqualTo(1);
+    }
+
+    @Test
+    void 발송에_실패하면_지수_백오프로_재시도를_예약한다() throws IOException {
+        MailOutboxService failing = service(unreachableSender(), 10);
+        insert("retry@billus.test", 0, LocalDateTime.now().minusSeconds(1));
+
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        failing.drain();
+        Map<String, Object> row = row("retry@billus.test");
+        assertThat(row.get("status")).isEqualTo("PENDING");
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(row.get("last_error")).isNotNull();
+        assertNextAttempt(row, before, Duration.ofMillis(BACKOFF_MS));
+
+        // 두 번째 실패는 backoff의 2배
+        dueNow("retry@billus.test");
+        before = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        failing.drain();
+        row = row("retry@billus.test");
+        assertThat(row.get("attempts")).isEqualTo(2);
+        assertNextAttempt(row, before, Duration.ofMillis(BACKOFF_MS * 2));
+
+        // SMTP가 복구되면 재시도 대상이 발송되고 행이 삭제된다.
+        dueNow("retry@billus.test");
+        service(greenMailSender(), 10).drain();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void 시도_한도에_도달하면_본문을_지우고_FAILED로_남긴다() throws IOException {
+        MailOutboxService failing = service(unreachableSender(), 10);
+        insert("fail@billus.test", MAX_ATTEMPTS - 1, LocalDateTime.now().minusSeconds(1));
+
+        failing.drain();
+
+        Map<String, Object> row = row("fail@billus.test");
+        assertThat(row.get("status")).isEqualTo("FAILED");
+        assertThat(row.get("attempts")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(row.get("body")).isNull();
+        assertThat(row.get("last_error")).isNotNull();
+
+        // FAILED 행은 다시 꺼내지 않는다.
+        service(greenMailSender(), 10).drain();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void 수신자별_발송_제한을_넘긴_메일은_다음_구간으로_미룬다() {
+        MailOutboxService service = service(greenMailSender(), 2);
+        for (int i = 0; i < 3; i++) {
+            insert("same@billus.test", 0, LocalDateTime.now().minusSeconds(1));
+        }
+
+        service.drain();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        Map<String, Object> row = row("same@billus.test");
+        assertThat(row.get("status")).isEqualTo("PENDING");
+        assertThat(row.get("attempts")).isEqualTo(0);
+        assertThat(nextAttemptAt(row)).isAfter(LocalDateTime.now().plusMinutes(59));
+    }
+
+    @Test
+    void 발송은_전용_스레드에서_실행되고_진행_중이면_다음_주기를_건너뛴다() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JavaMailSender blocking = mock(JavaMailSender.class);
+        when(blocking.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        AtomicReference<String> sender = new AtomicReference<>();
+        doAnswer(invocation -> {
+            sender.set(Thread.currentThread().getName());
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(blocking).send(any(MimeMessage[].class));
+        MailOutboxService service = service(blocking, 10);
+        insert("slow@billus.test", 0, LocalDateTime.now().minusSeconds(1));
+
+        // SMTP 응답을 기다리지 않고 반환
+        assertTimeoutPreemptively(Duration.ofSeconds(1), service::dispatch);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sender.get()).startsWith("mail-outbox-");
+        assertTimeoutPreemptively(Duration.ofSeconds(1), service::dispatch);
+
+        release.countDown();
+        service.shutdown();
+        verify(blocking, times(1)).send(any(MimeMessage[].class));
+        assertThat(count()).isZero();
+    }
+
+    private MailOutboxService service(JavaMailSender mailSender, int perRecipientLimit) {
+        MailOutboxService service = new MailOutboxService(mock(MailOutboxRepository.class), mailSender,
+                jdbcTemplate, transactionTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(service, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(service, "backoffMs", BACKOFF_MS);
+        ReflectionTestUtils.setField(service, "perRecipientLimit", perRecipientLimit);
+        ReflectionTestUtils.setField(service, "perRecipientWindowMinutes", 60L);
+        service.init();
+        return service;
+    }
+
+    private JavaMailSenderImpl greenMailSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        return mailSender;
+    }
+
+    /**
+     * 열려 있지 않은 포트로 연결하는 SMTP 클라이언트 (연결 실패)
+     */
+    private JavaMailSenderImpl unreachableSender() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "1000");
+        return mailSender;
+    }
+
+    private void insert(String recipient, int attempts, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update("INSERT INTO mail_outbox (recipient, subject, body, is_html, status, attempts, next_attempt_at) " +
+                "VALUES (?, '제목', '<p>내용</p>', 'T', 'PENDING', ?, ?)", recipient, attempts, Timestamp.valueOf(nextAttemptAt));
+    }
+
+    private void dueNow(String recipient) {
+        jdbcTemplate.update("UPDATE mail_outbox SET next_attempt_at = ? WHERE recipient = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), recipient);
+    }
+
+    private Map<String, Object> row(String recipient) {
+        return jdbcTemplate.queryForMap("SELECT status, attempts, body, next_attempt_at, last_error FROM mail_outbox " +
+                "WHERE recipient = ? ORDER BY next_attempt_at DESC LIMIT 1", recipient);
+    }
+
+    private long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mail_outbox", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private LocalDateTime nextAttemptAt(Map<String, Object> row) {
+        Object value = row.get("next_attempt_at");
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private void assertNextAttempt(Map<String, Object> row, LocalDateTime before, Duration delay) {
+        assertThat(nextAttemptAt(row)).isAfterOrEqualTo(before.plus(delay))
+                .isBefore(LocalDateTime.now().plus(delay).plusSeconds(1));
+    }
+}
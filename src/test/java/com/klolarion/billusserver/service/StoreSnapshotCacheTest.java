@@ -0,0 +1,167 @@
+package com.klolarion.billusserver.service;
+
+import com.klolarion.billusserver.domain.entity.*;
+import com.klolarion.billusserver.domain.repository.ApplyRepository;
+import com.klolarion.billusserver.domain.repository.BillRepository;
+import com.klolarion.billusserver.dto.InfoRequestDto;
+import com.klolarion.billusserver.dto.bill.BillRequestDto;
+import com.klolarion.billusserver.dto.store.StoreResponseDto;
+import com.klolarion.billusserver.security.PrincipalCache;
+import com.klolarion.billusserver.util.pivot.DailyPivotQuery;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 매장 스냅샷 캐시가 채워진 뒤 QR 인식 → 가격 조회 → 장부 등록 경로가 매장을 다시 조회하지 않는지,
+ * 매장 정보를 바꾸는 서비스가 캐시를 비우는지 확인
+ */
+class StoreSnapshotCacheTest {
+    private final QStore qStore = QStore.store;
+    private final UUID storeId = UUID.randomUUID();
+
+    private JPAQueryFactory query;
+    private JPAQuery<Tuple> storeSelect;
+    private EntityManager em;
+    private StoreSnapshotCache storeSnapshotCache;
+    private Store store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        query = mock(JPAQueryFactory.class);
+        storeSelect = mock(JPAQuery.class, RETURNS_SELF);
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.get(qStore.id)).thenReturn(storeId);
+        when(tuple.get(qStore.storeName)).thenReturn("빌러스 식당");
+        when(tuple.get(qStore.price)).thenReturn(7000);
+        when(tuple.get(qStore.isEnabled)).thenReturn("T");
+        when(tuple.get(qStore.firebaseToken)).thenReturn("fcm-token");
+        when(storeSelect.fetch()).thenReturn(List.of(tuple));
+        when(query.select(any(Expression[].class))).thenReturn(storeSelect);
+
+        JPAUpdateClause update = mock(JPAUpdateClause.class, RETURNS_SELF);
+        when(update.execute()).thenReturn(1L);
+        when(query.update(any())).thenReturn(update);
+
+        em = mock(EntityManager.class);
+        store = new Store();
+        store.setId(storeId);
+        when(em.getReference(Store.class, storeId)).thenReturn(store);
+
+        storeSnapshotCache = new StoreSnapshotCache(query, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(storeSnapshotCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(storeSnapshotCache, "ttlSeconds", 300L);
+        storeSnapshotCache.init();
+    }
+
+    @Test
+    void 캐시가_채워지면_가격_조회와_장부_등록에서_매장을_조회하지_않는다() {
+        MemberService memberService = new MemberService(query, storeSnapshotCache);
+        BillService billService = new BillService(mock(BillRepository.class), mock(BillSummaryService.class),
+                storeSnapshotCache, em, mock(ApplicationEventPublisher.class), query, mock(DailyPivotQuery.class));
+
+        storeSnapshotCache.get(storeId);
+        clearInvocations(query, storeSelect);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(memberService.getStorePrice(InfoRequestDto.builder().id(storeId.toString()).build()).getPrice())
+                    .isEqualTo("7000");
+            Bill bill = billService.newBill(BillRequestDto.builder()
+                    .storeId(storeId.toString())
+                    .date("20240105")
+                    .extraCount("2")
+                    .build(), member());
+            assertThat(bill.getUnitPrice()).isEqualTo(7000);
+            assertThat(bill.getStore()).isSameAs(store);
+        }
+        assertThat(storeSnapshotCache.getAll(Set.of(storeId))).containsKey(storeId);
+
+        verifyNoInteractions(query, storeSelect);
+        verify(em, never()).find(eq(Store.class), any());
+        verify(em, times(3)).getReference(Store.class, storeId);
+    }
+
+    @Test
+    void 가격_변경은_캐시를_비운다() {
+        StoreService storeService = storeService();
+        assertEvicted(() -> storeService.updatePrice("8000", store));
+    }
+
+    @Test
+    void 매장_정보_수정은_캐시를_비운다() {
+        StoreService storeService = storeService();
+        assertEvicted(() -> storeService.updateStoreInfo(StoreResponseDto.builder().storeName("새 이름").build(), store));
+    }
+
+    @Test
+    void FCM_토큰_등록은_캐시를_비운다() {
+        StoreService storeService = storeService();
+        assertEvicted(() -> storeService.initFCM("new-fcm-token", store));
+    }
+
+    @Test
+    void 매장_탈퇴는_캐시를_비운다() {
+        StoreService storeService = storeService();
+        assertEvicted(() -> storeService.leave(store));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 관리자_매장_비활성화는_캐시를_비운다() {
+        JPAQuery<Store> storeQuery = mock(JPAQuery.class, RETURNS_SELF);
+        when(storeQuery.fetchOne()).thenReturn(store);
+        doReturn(storeQuery).when(query).selectFrom(qStore);
+        ApplyService applyService = new ApplyService(query, mock(ApplyRepository.class), em,
+                mock(PrincipalCache.class), storeSnapshotCache);
+
+        assertEvicted(() -> applyService.disableStore(InfoRequestDto.builder().id(storeId.toString()).build()));
+    }
+
+    /**
+     * 캐시를 채운 뒤 mutation을 실행하면 다음 조회에서 매장을 다시 읽어야 한다.
+     */
+    private void assertEvicted(Runnable mutation) {
+        storeSnapshotCache.get(storeId);
+        storeSnapshotCache.get(storeId);
+        verify(query, times(1)).select(any(Expression[].class));
+
+        mutation.run();
+        storeSnapshotCache.get(storeId);
+
+        verify(query, times(2)).select(any(Expression[].class));
+    }
+
+    private StoreService storeService() {
+        return new StoreService(query, mock(MailOutboxService.class), mock(BCryptPasswordEncoder.class),
+                mock(StoreDayCounterService.class), mock(PrincipalCache.class), storeSnapshotCache);
+    }
+
+    private Member member() {
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        company.setCompanyName("빌러스");
+        Member member = new Member();
+        member.setId(UUID.randomUUID());
+        member.setMemberName("홍길동");
+        member.setCompany(company);
+        return member;
+    }
+}
@@ -0,0 +1,221 @@
+package com.klolarion.billusserver.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.klolarion.billusserver.util.constants.RedisKey.BIZNUM_STATUS_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.*;
+
+/**
+ * 국세청 API는 MockWebServer, Redis는 mock으로 대체
+ * 번호 첫 자리로 응답 상태를 정한다. (1: 계속사업자, 2: 폐업자, 그 외: 미등록(b_stt 빈 값))
+ */
+class BizNumValidatorTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private MockWebServer server;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private BizNumValidator validator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return respond(request);
+            }
+        });
+        server.start();
+
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        validator.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void 묶음_대기_시간_동안_들어온_번호를_중복_없이_한_번에_조회한다() throws Exception {
+        validator = validator(300);
+        List<String> bizNums = List.of("1000000001", "1000000002", "1000000003", "1000000004", "1000000005");
+
+        ExecutorService executor = Executors.newFixedThreadPool(bizNums.size() * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            // 번호마다 2건씩 동시에 요청
+            for (String bizNum : bizNums) {
+                for (int i = 0; i < 2; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        validator.validateBizNum(bizNum);
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrderElementsOf(bizNums);
+    }
+
+    @Test
+    void 최대_건수에_도달하면_대기_시간_없이_바로_조회한다() {
+        // 대기 시간이 지나야 전송된다면 테스트 시간 안에 끝나지 않는다.
+        validator = validator(60_000);
+        List<String> bizNums = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bizNums.add(String.format("1%09d", i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(bizNums.size());
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                List<Future<?>> results = new ArrayList<>();
+                for (String bizNum : bizNums) {
+                    results.add(executor.submit(() -> validator.validateBizNum(bizNum)));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(100).containsExactlyInAnyOrderElementsOf(bizNums);
+    }
+
+    @Test
+    void 계속사업자는_positive_ttl로_보관한다() {
+        validator = validator(10);
+
+        validator.validateBizNum("1234567890");
+
+        verify(valueOperations).set(BIZNUM_STATUS_PREFIX + "1234567890", "계속사업자", 24L, TimeUnit.HOURS);
+    }
+
+    @Test
+    void 휴폐업과_미등록은_negative_ttl로_보관하고_거부한다() {
+        validator = validator(10);
+
+        assertThatThrownBy(() -> validator.validateBizNum("2234567890")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> validator.validateBizNum("3234567890")).isInstanceOf(IllegalArgumentException.class);
+
+        verify(valueOperations).set(BIZNUM_STATUS_PREFIX + "2234567890", "폐업자", 10L, TimeUnit.MINUTES);
+        verify(valueOperations).set(BIZNUM_STATUS_PREFIX + "3234567890", "미등록", 10L, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void 캐시에_있으면_API를_호출하지_않는다() {
+        validator = validator(10);
+        when(valueOperations.get(BIZNUM_STATUS_PREFIX + "1234567890")).thenReturn("계속사업자");
+        when(valueOperations.get(BIZNUM_STATUS_PREFIX + "2234567890")).thenReturn("폐업자");
+
+        validator.validateBizNum("1234567890");
+        assertThatThrownBy(() -> validator.validateBizNum("2234567890")).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(server.getRequestCount()).isZero();
+        verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void API_오류는_보관하지_않는다() {
+        validator = validator(10);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(500);
+            }
+        });
+
+        assertThatThrownBy(() -> validator.validateBizNum("1234567890")).isInstanceOf(IllegalArgumentException.class);
+
+        verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        try {
+            List<String> bizNums = new ArrayList<>();
+            objectMapper.readTree(request.getBody().readUtf8()).path("b_no").forEach(node -> bizNums.add(node.asText()));
+            batches.add(bizNums);
+
+            List<Map<String, String>> data = new ArrayList<>();
+            for (String bizNum : bizNums) {
+                String status = switch (bizNum.charAt(0)) {
+                    case '1' -> "계속사업자";
+                    case '2' -> "폐업자";
+                    default -> "";
+                };
+                data.add(Map.of("b_no", bizNum, "b_stt", status));
+            }
+            return new MockResponse()
+                    .addHeader("Content-Type", "application/json; charset=utf-8")
+                    .setBody(objectMapper.writeValueAsString(Map.of("data", data)));
+        } catch (IOException e) {
+            return new MockResponse().setResponseCode(400);
+        }
+    }
+
+    private BizNumValidator validator(long batchWindowMs) {
+        BizNumValidator validator = new BizNumValidator(restTemplate(), objectMapper, redisTemplate);
+        ReflectionTestUtils.setField(validator, "DATA_ORG_API_KEY", "test-key");
+        ReflectionTestUtils.setField(validator, "positiveTtlHours", 24L);
+        ReflectionTestUtils.setField(validator, "negativeTtlMinutes", 10L);
+        ReflectionTestUtils.setField(validator, "batchWindowMs", batchWindowMs);
+        ReflectionTestUtils.setField(validator, "batchTimeoutMs", 3000L);
+        validator.init();
+        return validator;
+    }
+
+    /**
+     * 국세청 API로 나가는 요청을 MockWebServer로 보낸다.
+     */
+    private RestTemplate restTemplate() {
+        RestTemplate restTemplate = new RestTemplate();
+        URI target = server.url("/").uri();
+        restTemplate.getInterceptors().add((request, body, execution) -> execution.execute(new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                URI original = request.getURI();
+                return target.resolve(original.getRawPath() + "?" + original.getRawQuery());
+            }
+        }, body));
+        return restTemplate;
+    }
+}
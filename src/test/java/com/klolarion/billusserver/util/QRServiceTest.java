@@ -0,0 +1,161 @@
+package com.klolarion.billusserver.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.klolarion.billusserver.domain.entity.Store;
+import com.klolarion.billusserver.exception.r400.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QRServiceTest {
+    private static final int SHEET_MAX_STORES = 3;
+
+    private final List<QRService> services = new ArrayList<>();
+    private QRService qrService;
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        qrService = qrService();
+        store = store("빌러스 식당");
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(QRService::shutdown);
+    }
+
+    @Test
+    void If_None_Match가_일치하면_렌더링_없이_304를_반환한다() {
+        String eTag = qrService().publishStoreQr(store, 300, QRService.PNG, null).getHeaders().getETag();
+
+        ResponseEntity<byte[]> strong = qrService.publishStoreQr(store, 300, QRService.PNG, eTag);
+        ResponseEntity<byte[]> weak = qrService.publishStoreQr(store, 300, QRService.PNG, "\"other\", W/" + eTag);
+
+        assertThat(strong.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(strong.getHeaders().getETag()).isEqualTo(eTag);
+        assertThat(strong.getBody()).isNull();
+        assertThat(weak.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(cache(qrService).stats().loadCount()).isZero();
+        assertThat(cache(qrService).estimatedSize()).isZero();
+    }
+
+    @Test
+    void ETag는_크기_형식_매장명이_바뀌면_달라진다() {
+        String eTag = qrService.publishStoreQr(store, 300, QRService.PNG, null).getHeaders().getETag();
+
+        assertThat(qrService.publishStoreQr(store, 400, QRService.PNG, eTag).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(qrService.publishStoreQr(store, 300, QRService.SVG, eTag).getStatusCode()).isEqualTo(HttpStatus.OK);
+        store.setStoreName("새 이름");
+        assertThat(qrService.publishStoreQr(store, 300, QRService.PNG, eTag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void 같은_QR은_한_번만_렌더링한다() {
+        ResponseEntity<byte[]> first = qrService.publishStoreQr(store, 300, QRService.PNG, null);
+        ResponseEntity<byte[]> second = qrService.publishStoreQr(store, 300, QRService.PNG, "\"other\"");
+
+        assertThat(first.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        // PNG 시그니처
+        assertThat(first.getBody()).startsWith((byte) 0x89, (byte) 'P', (byte) 'N', (byte) 'G');
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(cache(qrService).stats().loadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 크기나_형식이_잘못되면_400() {
+        assertThatThrownBy(() -> qrService.publishStoreQr(store, 99, QRService.PNG, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> qrService.publishStoreQr(store, 1001, QRService.SVG, null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> qrService.publishStoreQr(store, 300, "gif", null))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> qrService.publishPrintSheet(List.of(store), 99))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void SVG는_올바른_XML로_생성된다() throws Exception {
+        ResponseEntity<byte[]> response = qrService.publishStoreQr(store, 250, QRService.SVG, null);
+
+        assertThat(response.getHeaders().getContentType()).isEqualTo(QRService.IMAGE_SVG);
+        Element svg = parse(response.getBody()).getDocumentElement();
+        assertThat(svg.getLocalName()).isEqualTo("svg");
+        assertThat(svg.getAttribute("width")).isEqualTo("250");
+        assertThat(svg.getElementsByTagNameNS("*", "path").getLength()).isEqualTo(1);
+    }
+
+    @Test
+    void 인쇄용_시트는_매장명을_이스케이프한_SVG로_생성된다() throws Exception {
+        List<Store> stores = List.of(store("A&B <식당>"), store("\"큰\" 식당"), store("작은 식당"));
+
+        ResponseEntity<byte[]> response = qrService.publishPrintSheet(stores, 200);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("qr-sheet.svg");
+        Document sheet = parse(response.getBody());
+        assertThat(sheet.getElementsByTagNameNS("*", "text").item(0).getTextContent()).isEqualTo("A&B <식당>");
+        assertThat(sheet.getElementsByTagNameNS("*", "text").getLength()).isEqualTo(3);
+        // 시트 안의 매장별 QR
+        assertThat(sheet.getElementsByTagNameNS("*", "svg").getLength()).isEqualTo(4);
+    }
+
+    @Test
+    void 시트_최대_매장_수를_넘기거나_매장이_없으면_거부한다() {
+        List<Store> stores = new ArrayList<>();
+        for (int i = 0; i <= SHEET_MAX_STORES; i++) {
+            stores.add(store("매장" + i));
+        }
+
+        assertThatThrownBy(() -> qrService.publishPrintSheet(stores, 200))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> qrService.publishPrintSheet(List.of(), 200))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(cache(qrService).stats().loadCount()).isZero();
+    }
+
+    private QRService qrService() {
+        QRService service = new QRService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "cacheTtlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "sheetWorkers", 2);
+        ReflectionTestUtils.setField(service, "sheetMaxStores", SHEET_MAX_STORES);
+        service.init();
+        services.add(service);
+        return service;
+    }
+
+    private Store store(String storeName) {
+        Store store = new Store();
+        store.setId(UUID.randomUUID());
+        store.setStoreName(storeName);
+        return store;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, byte[]> cache(QRService service) {
+        return (Cache<String, byte[]>) ReflectionTestUtils.getField(service, "cache");
+    }
+
+    private Document parse(byte[] svg) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(svg));
+    }
+}
@@ -0,0 +1,57 @@
+package com.klolarion.billusserver.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class RandomSourceTest {
+    private static final int THREADS = 64;
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    void 난수원은_DRBG를_사용한다() {
+        assertThat(RandomSource.current().getAlgorithm()).isEqualTo("DRBG");
+    }
+
+    @Test
+    void 동시_요청에서도_코드_생성이_대기하지_않는다() {
+        // 클래스 로딩(최초 시드)은 측정에서 제외
+        RandomSource.current();
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        for (int j = 0; j < ITERATIONS; j++) {
+                            tokens.add(GenerateCodeUtil.generateTokenVerifyString());
+                            assertThat(GenerateCodeUtil.generateOtpCode()).matches("[1-9][0-9]{3}");
+                            assertThat(GenerateCodeUtil.generateRandomPassword()).matches("[0-9A-Za-z]{10}");
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 32바이트 토큰은 중복되지 않아야 한다
+        assertThat(tokens).hasSize(THREADS * ITERATIONS);
+        assertThat(tokens).allMatch(token -> token.matches("[A-Za-z0-9_-]{43}"));
+    }
+}
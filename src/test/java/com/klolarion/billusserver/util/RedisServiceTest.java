@@ -0,0 +1,123 @@
+package com.klolarion.billusserver.util;
+
+import com.klolarion.billusserver.exception.r401.AuthFailureException;
+import com.klolarion.billusserver.exception.r403.AccessDeniedException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.klolarion.billusserver.util.constants.RedisKey.FAILURE_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisServiceTest {
+    private static final int MAX_FAILURE_COUNT =
+            (int) ReflectionTestUtils.getField(RedisService.class, "MAX_FAILURE_COUNT");
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisService redisService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.delete(redisTemplate.keys(FAILURE_PREFIX + "*"));
+        redisService = new RedisService(redisTemplate);
+    }
+
+    @Test
+    void 동시_실패_요청도_최대_실패_횟수까지만_증가하고_잠긴다() throws Exception {
+        int callers = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RuntimeException>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        redisService.authFailureCountHandler("member-1");
+                        return null;
+                    } catch (AuthFailureException | AccessDeniedException e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<String> failureCounts = new ArrayList<>();
+            int exceeded = 0;
+            int locked = 0;
+            for (Future<RuntimeException> result : results) {
+                RuntimeException e = result.get(10, TimeUnit.SECONDS);
+                if (e instanceof AuthFailureException failure) {
+                    failureCounts.add(failure.getCount());
+                } else if (e instanceof AccessDeniedException && e.getMessage().startsWith("인증 시도 횟수를 초과")) {
+                    exceeded++;
+                } else if (e instanceof AccessDeniedException && e.getMessage().startsWith("계정이 잠금 상태")) {
+                    locked++;
+                }
+            }
+
+            // 1 ~ MAX-1은 실패 응답, MAX 번째에서 잠금, 나머지는 잠금 상태로 차단
+            List<String> expectedCounts = new ArrayList<>();
+            for (int count = 1; count < MAX_FAILURE_COUNT; count++) {
+                expectedCounts.add(String.valueOf(count));
+            }
+            assertThat(failureCounts).containsExactlyInAnyOrderElementsOf(expectedCounts);
+            assertThat(exceeded).isEqualTo(1);
+            assertThat(locked).isEqualTo(callers - MAX_FAILURE_COUNT);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String key = FAILURE_PREFIX + ":member-1";
+        assertThat(redisTemplate.opsForValue().get(key)).isEqualTo("locked");
+        assertThat(redisTemplate.getExpire(key, TimeUnit.SECONDS)).isPositive();
+    }
+
+    @Test
+    void 실패_카운터는_최초_실패_시점부터_만료된다() {
+        String key = FAILURE_PREFIX + ":member-2";
+
+        for (int count = 1; count < MAX_FAILURE_COUNT; count++) {
+            String expected = String.valueOf(count);
+            assertThatThrownBy(() -> redisService.authFailureCountHandler("member-2"))
+                    .isInstanceOfSatisfying(AuthFailureException.class, e -> assertThat(e.getCount()).isEqualTo(expected));
+        }
+
+        assertThat(redisTemplate.opsForValue().get(key)).isEqualTo(String.valueOf(MAX_FAILURE_COUNT - 1));
+        assertThat(redisTemplate.getExpire(key, TimeUnit.SECONDS)).isPositive();
+    }
+}